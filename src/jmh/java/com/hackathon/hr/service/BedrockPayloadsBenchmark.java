@@ -0,0 +1,109 @@
+// src/jmh/java/com/hackathon/hr/service/BedrockPayloadsBenchmark.java
+package com.hackathon.hr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of building a Bedrock request body and reading the reply
+ * text: the String.format and ObjectMapper tree code BedrockService used
+ * before, against {@link BedrockPayloads}. Run with -prof gc (the benchmark
+ * profile does) and compare gc.alloc.rate.norm, bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BedrockPayloadsBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String INFERENCE_CONFIG = "{\"maxTokens\": 2000, \"temperature\": 0.0, \"topP\": 0.9}";
+
+    // A compacted resume is about 3000 tokens; this is close to that
+    private static final int PROMPT_CHARS = 7800;
+
+    private String prompt;
+    private SdkBytes responseBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        String section = "Senior Software Engineer, Example Corp (2018 - 2024)\n"
+                + "\t- Built \"event-driven\" Java/Spring Boot services on AWS (Kafka, PostgreSQL, Redis)\n"
+                + "\t- Cut p99 latency by 40% and led a team of 6 engineers\\mentored juniors\n";
+        StringBuilder text = new StringBuilder("Extract structured data from the resume below.\n\nResume Text:\n");
+        while (text.length() < PROMPT_CHARS) {
+            text.append(section);
+        }
+        prompt = text.toString();
+
+        ObjectNode response = OBJECT_MAPPER.createObjectNode();
+        response.putObject("output").putObject("message").put("role", "assistant")
+                .putArray("content").addObject()
+                .put("text", "{\"score\": 78, \"justification\": \"Has Java, Spring Boot and PostgreSQL but lacks "
+                        + "Kubernetes; MID experience matches the MID requirement.\"}");
+        response.put("stopReason", "end_turn");
+        response.putObject("usage").put("inputTokens", 1950).put("outputTokens", 42).put("totalTokens", 1992);
+        responseBody = SdkBytes.fromByteArray(OBJECT_MAPPER.writeValueAsBytes(response));
+    }
+
+    @Benchmark
+    public SdkBytes requestFormatted() {
+        return SdkBytes.fromUtf8String(String.format("""
+            {
+                "messages": [
+                    {
+                        "role": "user",
+                        "content": [
+                            {
+                                "text": "%s"
+                            }
+                        ]
+                    }
+                ],
+                "inferenceConfig": %s
+            }
+            """, escapeJsonString(prompt), INFERENCE_CONFIG));
+    }
+
+    @Benchmark
+    public SdkBytes requestStreaming() {
+        return SdkBytes.fromByteArrayUnsafe(BedrockPayloads.writeRequest(prompt, 2000, 0.0, 0.9));
+    }
+
+    @Benchmark
+    public String responseTree() throws IOException {
+        JsonNode jsonResponse = OBJECT_MAPPER.readTree(responseBody.asUtf8String());
+        return jsonResponse.get("output").get("message").get("content").get(0).get("text").asText();
+    }
+
+    @Benchmark
+    public String responseStreaming() throws IOException {
+        return BedrockPayloads.readResponseText(responseBody.asByteArrayUnsafe());
+    }
+
+    private static String escapeJsonString(String input) {
+        return input.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\r", "\\r")
+                .replace("\n", "\\n")
+                .replace("\t", "\\t");
+    }
+}
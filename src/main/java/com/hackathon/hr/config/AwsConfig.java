@@ -8,14 +8,22 @@ import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.textract.TextractAsyncClient;
 import software.amazon.awssdk.services.textract.TextractClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import javax.annotation.PostConstruct;
 
+import java.time.Duration;
+
 @Configuration
 public class AwsConfig {
     
@@ -31,6 +39,33 @@ public class AwsConfig {
     @Value("${AWS_SECRET_ACCESS_KEY:${aws.secretAccessKey:}}")
     private String secretAccessKey;
     
+    // HTTP connection pools sized to the downstream concurrency limits so the
+    // SDK's default of 50 connections is not a hidden cap under virtual threads
+    @Value("${hr.execution.limit.s3:64}")
+    private int s3MaxConnections;
+    
+    @Value("${hr.execution.limit.textract:16}")
+    private int textractMaxConnections;
+    
+    @Value("${hr.execution.limit.bedrock:32}")
+    private int bedrockMaxConnections;
+    
+    // Async (Netty) clients: requests beyond the connection limit wait for a
+    // connection instead of a thread, up to this many and this long
+    @Value("${aws.async.max-pending-acquires:10000}")
+    private int asyncMaxPendingAcquires;
+    
+    @Value("${aws.async.connection-acquisition-timeout.ms:60000}")
+    private long asyncAcquisitionTimeoutMs;
+    
+    // Bedrock completions can take well over Netty's 30s default
+    @Value("${aws.async.read-timeout.ms:120000}")
+    private long asyncReadTimeoutMs;
+    
+    // Event loop threads per async client; 0 keeps the Netty default (2 x cores)
+    @Value("${aws.async.event-loop-threads:0}")
+    private int asyncEventLoopThreads;
+    
     @PostConstruct
     public void logConfiguration() {
         logger.info("AWS Configuration initialized:");
@@ -58,6 +93,7 @@ public class AwsConfig {
         return S3Client.builder()
                 .region(Region.of(region))
                 .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(s3MaxConnections))
                 .build();
     }
     
@@ -67,6 +103,7 @@ public class AwsConfig {
         return TextractClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(textractMaxConnections))
                 .build();
     }
     
@@ -76,6 +113,49 @@ public class AwsConfig {
         return BedrockRuntimeClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(bedrockMaxConnections))
                 .build();
     }
-}
\ No newline at end of file
+    
+    @Bean
+    public S3AsyncClient s3AsyncClient(AwsCredentialsProvider credentialsProvider) {
+        logger.info("Creating async S3 client for region: {}", region);
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(asyncHttpClient(s3MaxConnections))
+                .build();
+    }
+    
+    @Bean
+    public TextractAsyncClient textractAsyncClient(AwsCredentialsProvider credentialsProvider) {
+        logger.info("Creating async Textract client for region: {}", region);
+        return TextractAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(asyncHttpClient(textractMaxConnections))
+                .build();
+    }
+    
+    @Bean
+    public BedrockRuntimeAsyncClient bedrockRuntimeAsyncClient(AwsCredentialsProvider credentialsProvider) {
+        logger.info("Creating async Bedrock Runtime client for region: {}", region);
+        return BedrockRuntimeAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(asyncHttpClient(bedrockMaxConnections))
+                .build();
+    }
+    
+    private NettyNioAsyncHttpClient.Builder asyncHttpClient(int maxConcurrency) {
+        NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConcurrency)
+                .maxPendingConnectionAcquires(asyncMaxPendingAcquires)
+                .connectionAcquisitionTimeout(Duration.ofMillis(asyncAcquisitionTimeoutMs))
+                .readTimeout(Duration.ofMillis(asyncReadTimeoutMs));
+        if (asyncEventLoopThreads > 0) {
+            builder.eventLoopGroupBuilder(SdkEventLoopGroup.builder().numberOfThreads(asyncEventLoopThreads));
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,43 @@
+// src/main/java/com/hackathon/hr/config/BedrockCacheEndpoint.java
+package com.hackathon.hr.config;
+
+import com.hackathon.hr.service.BedrockResponseCache;
+import com.hackathon.hr.service.BedrockService;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Actuator view of the Bedrock response cache and in-flight call sharing at
+ * /actuator/bedrockcache. Cache counters are also published as
+ * bedrock.cache.* metrics.
+ */
+@Component
+@Endpoint(id = "bedrockcache")
+public class BedrockCacheEndpoint {
+
+    private final BedrockResponseCache responseCache;
+    private final BedrockService bedrockService;
+
+    public BedrockCacheEndpoint(BedrockResponseCache responseCache, BedrockService bedrockService) {
+        this.responseCache = responseCache;
+        this.bedrockService = bedrockService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> statistics = new HashMap<>(responseCache.getStatistics());
+        statistics.put("singleFlight", bedrockService.getSingleFlightStatistics());
+        return statistics;
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clear() {
+        responseCache.clear();
+        return statistics();
+    }
+}
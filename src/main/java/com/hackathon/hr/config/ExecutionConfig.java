@@ -0,0 +1,29 @@
+// src/main/java/com/hackathon/hr/config/ExecutionConfig.java
+package com.hackathon.hr.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    /**
+     * Serve requests on virtual threads too, so request threads blocked on
+     * the synchronous SDK clients no longer exhaust Tomcat's worker pool.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "hr.execution.virtual-threads", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequestExecutor() {
+        logger.info("Tomcat requests will run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
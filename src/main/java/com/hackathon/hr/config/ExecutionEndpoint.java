@@ -0,0 +1,60 @@
+// src/main/java/com/hackathon/hr/config/ExecutionEndpoint.java
+package com.hackathon.hr.config;
+
+import com.hackathon.hr.service.BedrockHedging;
+import com.hackathon.hr.service.BedrockRateLimiter;
+import com.hackathon.hr.service.BedrockService;
+import com.hackathon.hr.service.DownstreamLimiter;
+import com.hackathon.hr.service.LanguageModelClient;
+import com.hackathon.hr.service.ModelRouter;
+import com.hackathon.hr.service.TaskExecutorFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Actuator view of the execution mode, per-service concurrency limits, the
+ * Bedrock rate limiter, Bedrock streaming, model routing, hedging and the
+ * language model client in use at /actuator/execution.
+ */
+@Component
+@Endpoint(id = "execution")
+public class ExecutionEndpoint {
+
+    private final TaskExecutorFactory taskExecutorFactory;
+    private final DownstreamLimiter downstreamLimiter;
+    private final BedrockRateLimiter bedrockRateLimiter;
+    private final BedrockService bedrockService;
+    private final ModelRouter modelRouter;
+    private final BedrockHedging bedrockHedging;
+    private final LanguageModelClient languageModelClient;
+
+    public ExecutionEndpoint(TaskExecutorFactory taskExecutorFactory, DownstreamLimiter downstreamLimiter,
+                             BedrockRateLimiter bedrockRateLimiter, BedrockService bedrockService,
+                             ModelRouter modelRouter, BedrockHedging bedrockHedging,
+                             LanguageModelClient languageModelClient) {
+        this.taskExecutorFactory = taskExecutorFactory;
+        this.downstreamLimiter = downstreamLimiter;
+        this.bedrockRateLimiter = bedrockRateLimiter;
+        this.bedrockService = bedrockService;
+        this.modelRouter = modelRouter;
+        this.bedrockHedging = bedrockHedging;
+        this.languageModelClient = languageModelClient;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("virtualThreads", taskExecutorFactory.isVirtualThreads());
+        statistics.put("downstream", downstreamLimiter.getStatistics());
+        statistics.put("bedrockRateLimit", bedrockRateLimiter.getStatistics());
+        statistics.put("bedrockStreaming", bedrockService.getStreamingStatistics());
+        statistics.put("modelRouting", modelRouter.getStatistics());
+        statistics.put("bedrockHedging", bedrockHedging.getStatistics());
+        statistics.put("languageModel", languageModelClient.getStatistics());
+        return statistics;
+    }
+}
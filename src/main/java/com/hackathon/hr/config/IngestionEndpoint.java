@@ -0,0 +1,29 @@
+// src/main/java/com/hackathon/hr/config/IngestionEndpoint.java
+package com.hackathon.hr.config;
+
+import com.hackathon.hr.service.CandidateService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator view of the staged resume ingestion pipeline at /actuator/ingestion:
+ * queue depth, busy workers and latency for each stage.
+ */
+@Component
+@Endpoint(id = "ingestion")
+public class IngestionEndpoint {
+
+    private final CandidateService candidateService;
+
+    public IngestionEndpoint(CandidateService candidateService) {
+        this.candidateService = candidateService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        return candidateService.getIngestionStatistics();
+    }
+}
@@ -3,8 +3,13 @@ package com.hackathon.hr.controller;
 
 import com.hackathon.hr.model.Candidate;
 import com.hackathon.hr.model.JobRequirement;
+import com.hackathon.hr.model.MatchMatrix;
+import com.hackathon.hr.model.MatchPage;
 import com.hackathon.hr.model.MatchResult;
+import com.hackathon.hr.model.MatchStatistics;
 import com.hackathon.hr.service.CandidateService;
+import com.hackathon.hr.service.MatchStreamListener;
+import com.hackathon.hr.service.ServiceCircuitBreakers;
 import com.hackathon.hr.service.SessionManagementService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,12 +17,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.*;
@@ -31,6 +39,7 @@ public class HRController {
 
     private final CandidateService candidateService;
     private final SessionManagementService sessionManagementService;
+    private final ServiceCircuitBreakers circuitBreakers;
     
     // Service configuration from properties
     @Value("${demo.info.title:HR Resume Screening AI Demo}")
@@ -48,6 +57,13 @@ public class HRController {
     @Value("${hr.demo.ai.analysis.enabled:true}")
     private boolean aiAnalysisEnabled;
     
+    // Default for /api/upload when the request does not say; async=true returns 202 with a tracking ID
+    @Value("${candidate.upload.async:false}")
+    private boolean asyncUploadDefault;
+
+    @Value("${candidate.matching.ai.deadline.ms:20000}")
+    private long aiMatchDeadlineMs;
+
     @Value("${hr.demo.session.duration:7}")
     private int sessionDurationMinutes;
     
@@ -57,9 +73,11 @@ public class HRController {
     // Track upload processing status (in-memory for demo purposes)
     private final Map<String, ProcessingStatus> processingStatusMap = new ConcurrentHashMap<>();
 
-    public HRController(CandidateService candidateService, SessionManagementService sessionManagementService) {
+    public HRController(CandidateService candidateService, SessionManagementService sessionManagementService,
+                        ServiceCircuitBreakers circuitBreakers) {
         this.candidateService = candidateService;
         this.sessionManagementService = sessionManagementService;
+        this.circuitBreakers = circuitBreakers;
     }
 
     // ========================================
@@ -328,7 +346,8 @@ public class HRController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> uploadResume(
             @RequestParam("file") MultipartFile file,
-            @RequestParam(value = "sessionId", required = false) String sessionId) {
+            @RequestParam(value = "sessionId", required = false) String sessionId,
+            @RequestParam(value = "async", required = false) Boolean async) {
         Map<String, Object> response = new HashMap<>();
         String trackingId = UUID.randomUUID().toString();
         LocalDateTime uploadStartTime = LocalDateTime.now();
@@ -373,6 +392,25 @@ public class HRController {
                 return ResponseEntity.badRequest().body(response);
             }
 
+            // Asynchronous mode: hand off to the ingestion pool and let the client poll the status
+            if (async != null ? async : asyncUploadDefault) {
+                CandidateService.ProcessingStatus queued = candidateService.submitResume(file, trackingId);
+                
+                response.put("success", true);
+                response.put("trackingId", trackingId);
+                response.put("fileName", file.getOriginalFilename());
+                response.put("sessionId", sessionId);
+                response.put("status", queued.getStatus());
+                response.put("progress", queued.getProgress());
+                response.put("statusUrl", "/api/upload/status/" + trackingId);
+                response.put("message", "Resume accepted for processing");
+                response.put("timestamp", LocalDateTime.now().toString());
+                
+                logger.info("Resume upload accepted: {} (tracking ID: {}) for session: {}",
+                           file.getOriginalFilename(), trackingId, sessionId);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+            }
+
             // Initialize processing status
             ProcessingStatus status = new ProcessingStatus(trackingId, file.getOriginalFilename());
             processingStatusMap.put(trackingId, status);
@@ -427,6 +465,18 @@ public class HRController {
             
             String message = e.getMessage();
             
+            // AWS dependency behind an open circuit breaker: fail fast and say so
+            if (message != null && message.startsWith("SERVICE_DEGRADED:")) {
+                response.put("success", false);
+                response.put("error", "Service Degraded");
+                response.put("details", message.substring(18)); // Remove prefix
+                response.put("errorType", "degraded");
+                response.put("status", "degraded");
+                response.put("trackingId", trackingId);
+                response.put("timestamp", LocalDateTime.now().toString());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+            }
+            
             // Parse specific error types and return 200 OK with error details
             if (message != null && message.startsWith("DOCUMENT_FORMAT_ERROR:")) {
                 response.put("success", false);
@@ -494,35 +544,62 @@ public class HRController {
             return ResponseEntity.status(401).body(response);
         }
         
-        List<Map<String, Object>> results = new ArrayList<>();
+        // Validate the batch as a whole before touching any file
+        int maxBatchSize = candidateService.getMaxBatchSize();
+        if (files.length > maxBatchSize) {
+            response.put("success", false);
+            response.put("error", "Batch size exceeds maximum allowed: " + maxBatchSize);
+            response.put("errorType", "validation");
+            response.put("maxBatchSize", maxBatchSize);
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        List<Map<String, Object>> results = new ArrayList<>(Collections.nCopies(files.length, null));
+        List<MultipartFile> accepted = new ArrayList<>();
+        List<Integer> acceptedPositions = new ArrayList<>();
         int successCount = 0;
         LocalDateTime batchStartTime = LocalDateTime.now();
         
         logger.info("Processing batch upload of {} files for session: {}", files.length, sessionId);
         
-        for (MultipartFile file : files) {
+        for (int i = 0; i < files.length; i++) {
+            MultipartFile file = files[i];
+            if (!isValidFileType(file.getContentType())) {
+                results.set(i, fileValidationError(file, "Invalid file type"));
+            } else if (file.getSize() > 5 * 1024 * 1024) { // 5MB limit for Textract
+                results.set(i, fileValidationError(file, "File size exceeds 5MB limit"));
+            } else {
+                accepted.add(file);
+                acceptedPositions.add(i);
+            }
+        }
+        
+        // All valid files go through the ingestion pipeline together
+        List<CandidateService.ProcessingResult> processed =
+                candidateService.processBatch(accepted.toArray(new MultipartFile[0]));
+        
+        for (int j = 0; j < processed.size(); j++) {
+            CandidateService.ProcessingResult result = processed.get(j);
             Map<String, Object> fileResult = new HashMap<>();
-            fileResult.put("fileName", file.getOriginalFilename());
+            fileResult.put("fileName", result.getFileName());
+            fileResult.put("stageTimings", result.getStageTimings());
             
-            try {
-                if (!isValidFileType(file.getContentType())) {
-                    fileResult.put("success", false);
-                    fileResult.put("error", "Invalid file type");
-                } else if (file.getSize() > 5 * 1024 * 1024) { // 5MB limit for Textract
-                    fileResult.put("success", false);
-                    fileResult.put("error", "File size exceeds 5MB limit");
-                } else {
-                    Candidate candidate = candidateService.processResume(file);
-                    fileResult.put("success", true);
-                    fileResult.put("candidateId", candidate.getId());
-                    fileResult.put("skillsExtracted", candidate.getTechnicalSkills() != null ? candidate.getTechnicalSkills().size() : 0);
-                    successCount++;
-                }
-            } catch (RuntimeException e) {
-                String message = e.getMessage();
+            if (result.isSuccess()) {
+                fileResult.put("success", true);
+                fileResult.put("candidateId", result.getCandidateId());
+                fileResult.put("skillsExtracted", result.getSkillsExtracted());
+                successCount++;
+            } else {
+                String message = result.getError();
                 
                 // Parse specific error types
-                if (message != null && message.startsWith("DOCUMENT_FORMAT_ERROR:")) {
+                if (message != null && message.startsWith("SERVICE_DEGRADED:")) {
+                    fileResult.put("success", false);
+                    fileResult.put("error", "Service Degraded");
+                    fileResult.put("details", message.substring(18)); // Remove prefix
+                    fileResult.put("errorType", "degraded");
+                    
+                } else if (message != null && message.startsWith("DOCUMENT_FORMAT_ERROR:")) {
                     fileResult.put("success", false);
                     fileResult.put("error", "Document Format Issue");
                     fileResult.put("details", message.substring(22)); // Remove prefix
@@ -541,16 +618,10 @@ public class HRController {
                     fileResult.put("errorType", "general");
                 }
                 
-                logger.error("Error uploading resume: {} - {}", file.getOriginalFilename(), message);
-            } catch (Exception e) {
-                fileResult.put("success", false);
-                fileResult.put("error", "Unexpected error");
-                fileResult.put("details", "An unexpected error occurred. Please try again.");
-                fileResult.put("errorType", "general");
-                logger.error("Unexpected error processing file: {}", file.getOriginalFilename(), e);
+                logger.error("Error uploading resume: {} - {}", result.getFileName(), message);
             }
             
-            results.add(fileResult);
+            results.set(acceptedPositions.get(j), fileResult);
         }
         
         Duration batchDuration = Duration.between(batchStartTime, LocalDateTime.now());
@@ -569,6 +640,15 @@ public class HRController {
         return ResponseEntity.ok(response);
     }
 
+    private Map<String, Object> fileValidationError(MultipartFile file, String error) {
+        Map<String, Object> fileResult = new HashMap<>();
+        fileResult.put("fileName", file.getOriginalFilename());
+        fileResult.put("success", false);
+        fileResult.put("error", error);
+        fileResult.put("errorType", "validation");
+        return fileResult;
+    }
+
     @GetMapping("/api/upload/status/{trackingId}")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getUploadStatus(@PathVariable String trackingId) {
@@ -576,9 +656,8 @@ public class HRController {
         
         ProcessingStatus status = processingStatusMap.get(trackingId);
         if (status == null) {
-            response.put("found", false);
-            response.put("error", "Tracking ID not found");
-            return ResponseEntity.notFound().build();
+            // Asynchronous uploads are tracked live by the service
+            return getIngestionStatus(trackingId);
         }
         
         response.put("found", true);
@@ -598,9 +677,66 @@ public class HRController {
         return ResponseEntity.ok(response);
     }
 
+    private ResponseEntity<Map<String, Object>> getIngestionStatus(String trackingId) {
+        Map<String, Object> response = new HashMap<>();
+        
+        CandidateService.ProcessingStatus status = candidateService.getProcessingStatus(trackingId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        response.put("found", true);
+        response.put("trackingId", trackingId);
+        response.put("fileName", status.getFileName());
+        response.put("status", status.getStatus());
+        response.put("progress", status.getProgress());
+        response.put("candidateId", status.getCandidateId());
+        response.put("startedAt", status.getStartedAt().toString());
+        response.put("lastUpdated", status.getLastUpdated().toString());
+        response.put("timestamp", LocalDateTime.now().toString());
+        
+        if ("completed".equals(status.getStatus())) {
+            Candidate candidate = candidateService.getCandidateById(status.getCandidateId());
+            if (candidate != null) {
+                Map<String, Object> extractedData = new HashMap<>();
+                extractedData.put("skillsCount", candidate.getTechnicalSkills() != null ? candidate.getTechnicalSkills().size() : 0);
+                extractedData.put("experienceLevel", candidate.getExperienceLevel());
+                response.put("extractedData", extractedData);
+            }
+            candidateService.cleanupProcessingStatus(trackingId);
+            
+        } else if ("failed".equals(status.getStatus()) || "degraded".equals(status.getStatus())) {
+            // Same error shape as the synchronous upload response
+            String message = status.getError();
+            if (message != null && message.startsWith("SERVICE_DEGRADED:")) {
+                response.put("error", "Service Degraded");
+                response.put("details", message.substring(18));
+                response.put("errorType", "degraded");
+            } else if (message != null && message.startsWith("DOCUMENT_FORMAT_ERROR:")) {
+                response.put("error", "Document Format Issue");
+                response.put("details", message.substring(22));
+                response.put("errorType", "format");
+            } else if (message != null && message.startsWith("PROCESSING_ERROR:")) {
+                response.put("error", "Processing Error");
+                response.put("details", message.substring(17));
+                response.put("errorType", "processing");
+            } else {
+                response.put("error", "Failed to process resume");
+                response.put("details", message != null ? message : "An error occurred while processing the file");
+                response.put("errorType", "general");
+            }
+            candidateService.cleanupProcessingStatus(trackingId);
+        }
+        
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/api/match")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> matchCandidates(@RequestParam("jobId") String jobId) {
+    public ResponseEntity<Map<String, Object>> matchCandidates(
+            @RequestParam("jobId") String jobId,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "0") int limit) {
         Map<String, Object> response = new HashMap<>();
         LocalDateTime matchStartTime = LocalDateTime.now();
 
@@ -622,32 +758,23 @@ public class HRController {
 
             logger.info("Matching candidates for job ID: {} ({})", jobId, job.getTitle());
             
-            List<MatchResult> matches = candidateService.matchCandidates(jobId);
-            
-            // Sort matches by score (highest first)
-            matches.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+            // Ranked, paged and summarised in one pass by the service
+            MatchPage page = candidateService.matchCandidates(jobId, offset, limit);
+            List<MatchResult> matches = page.getMatches();
+            MatchStatistics matchStatistics = page.getStatistics();
             
             // Calculate match statistics
-            Map<String, Object> statistics = new HashMap<>();
-            if (!matches.isEmpty()) {
-                double avgScore = matches.stream().mapToDouble(MatchResult::getScore).average().orElse(0);
-                double maxScore = matches.stream().mapToDouble(MatchResult::getScore).max().orElse(0);
-                double minScore = matches.stream().mapToDouble(MatchResult::getScore).min().orElse(0);
-                
-                statistics.put("averageScore", Math.round(avgScore * 100) / 100.0);
-                statistics.put("highestScore", Math.round(maxScore * 100) / 100.0);
-                statistics.put("lowestScore", Math.round(minScore * 100) / 100.0);
-                statistics.put("excellentMatches", matches.stream().filter(m -> m.getScore() >= 80).count());
-                statistics.put("goodMatches", matches.stream().filter(m -> m.getScore() >= 60 && m.getScore() < 80).count());
-                statistics.put("fairMatches", matches.stream().filter(m -> m.getScore() < 60).count());
-            }
+            Map<String, Object> statistics = toStatisticsMap(matchStatistics);
 
             Duration matchingDuration = Duration.between(matchStartTime, LocalDateTime.now());
 
             response.put("success", true);
             response.put("matches", matches);
-            response.put("totalCandidates", candidateService.getAllCandidates().size());
-            response.put("matchCount", matches.size());
+            response.put("totalCandidates", candidateService.getCandidateCount());
+            response.put("matchCount", page.getTotalMatches());
+            response.put("offset", page.getOffset());
+            response.put("limit", page.getLimit());
+            response.put("hasMore", page.hasMore());
             response.put("jobId", jobId);
             response.put("jobTitle", job.getTitle());
             response.put("jobLevel", job.getExperienceLevel());
@@ -656,7 +783,7 @@ public class HRController {
             response.put("timestamp", LocalDateTime.now().toString());
 
             logger.info("Found {} matches for job ID: {} in {}ms", 
-                       matches.size(), jobId, matchingDuration.toMillis());
+                       page.getTotalMatches(), jobId, matchingDuration.toMillis());
             
             return ResponseEntity.ok(response);
 
@@ -669,6 +796,177 @@ public class HRController {
         }
     }
 
+    /**
+     * Server-Sent Events variant of /api/match. Emits a "match" event per
+     * heuristic result as soon as the ranking is read, an "update" event for
+     * each AI-refined score as it arrives, and a final "statistics" event.
+     * With Bedrock streaming enabled, "justification" events carry each AI
+     * justification piece by piece ahead of its "update".
+     */
+    @GetMapping(value = "/api/match/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatches(@RequestParam("jobId") String jobId) {
+        SseEmitter emitter = new SseEmitter(aiMatchDeadlineMs + 10_000L);
+        LocalDateTime matchStartTime = LocalDateTime.now();
+
+        try {
+            if (!aiAnalysisEnabled) {
+                sendErrorEvent(emitter, "AI analysis is currently disabled");
+                return emitter;
+            }
+
+            JobRequirement job = candidateService.getJobById(jobId);
+            if (job == null) {
+                sendErrorEvent(emitter, "Job not found");
+                return emitter;
+            }
+
+            logger.info("Streaming matches for job ID: {} ({})", jobId, job.getTitle());
+
+            candidateService.streamMatches(jobId, new MatchStreamListener() {
+                @Override
+                public void onMatch(MatchResult match, boolean refined) throws IOException {
+                    emitter.send(SseEmitter.event().name(refined ? "update" : "match")
+                            .data(match, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void onJustification(String candidateId, String text) throws IOException {
+                    Map<String, Object> piece = new HashMap<>();
+                    piece.put("candidateId", candidateId);
+                    piece.put("text", text);
+                    emitter.send(SseEmitter.event().name("justification").data(piece, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void onComplete(MatchStatistics matchStatistics, int aiRefined, int fallbacks) throws IOException {
+                    Duration matchingDuration = Duration.between(matchStartTime, LocalDateTime.now());
+
+                    Map<String, Object> summary = new HashMap<>();
+                    summary.put("success", true);
+                    summary.put("jobId", jobId);
+                    summary.put("jobTitle", job.getTitle());
+                    summary.put("jobLevel", job.getExperienceLevel());
+                    summary.put("totalCandidates", candidateService.getCandidateCount());
+                    summary.put("matchCount", matchStatistics.getCount());
+                    summary.put("aiRefined", aiRefined);
+                    summary.put("fallbacks", fallbacks);
+                    summary.put("statistics", toStatisticsMap(matchStatistics));
+                    summary.put("processingTime", matchingDuration.toMillis() + "ms");
+                    summary.put("timestamp", LocalDateTime.now().toString());
+
+                    emitter.send(SseEmitter.event().name("statistics").data(summary, MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                }
+
+                @Override
+                public void onError(Exception error) {
+                    sendErrorEvent(emitter, "Failed to match candidates: " + error.getMessage());
+                }
+            });
+
+        } catch (Exception e) {
+            logger.error("Error starting match stream for job ID: {}", jobId, e);
+            sendErrorEvent(emitter, "Failed to match candidates: " + e.getMessage());
+        }
+
+        return emitter;
+    }
+
+    private void sendErrorEvent(SseEmitter emitter, String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("error", message);
+        error.put("timestamp", LocalDateTime.now().toString());
+        try {
+            emitter.send(SseEmitter.event().name("error").data(error, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private Map<String, Object> toStatisticsMap(MatchStatistics matchStatistics) {
+        Map<String, Object> statistics = new HashMap<>();
+        if (matchStatistics.getCount() > 0) {
+            statistics.put("averageScore", Math.round(matchStatistics.getAverageScore() * 100) / 100.0);
+            statistics.put("highestScore", Math.round(matchStatistics.getHighestScore() * 100) / 100.0);
+            statistics.put("lowestScore", Math.round(matchStatistics.getLowestScore() * 100) / 100.0);
+            statistics.put("excellentMatches", matchStatistics.getExcellentMatches());
+            statistics.put("goodMatches", matchStatistics.getGoodMatches());
+            statistics.put("fairMatches", matchStatistics.getFairMatches());
+        }
+        return statistics;
+    }
+
+    @GetMapping("/api/match/matrix")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getMatchMatrix(
+            @RequestParam(value = "topN", defaultValue = "5") int topN) {
+        Map<String, Object> response = new HashMap<>();
+        LocalDateTime matrixStartTime = LocalDateTime.now();
+
+        try {
+            if (!aiAnalysisEnabled) {
+                response.put("success", false);
+                response.put("error", "AI analysis is currently disabled");
+                return ResponseEntity.status(503).body(response);
+            }
+
+            MatchMatrix matrix = candidateService.getMatchMatrix(topN);
+            Duration matrixDuration = Duration.between(matrixStartTime, LocalDateTime.now());
+
+            response.put("success", true);
+            response.put("jobIds", matrix.getJobIds());
+            response.put("candidateIds", matrix.getCandidateIds());
+            response.put("scores", matrix.getScores());
+            response.put("topMatches", matrix.getTopMatches());
+            response.put("topN", matrix.getTopN());
+            response.put("computedAt", matrix.getComputedAt().toString());
+            response.put("processingTime", matrixDuration.toMillis() + "ms");
+            response.put("timestamp", LocalDateTime.now().toString());
+
+            logger.info("Match matrix served: {} jobs x {} candidates in {}ms",
+                       matrix.getJobIds().size(), matrix.getCandidateIds().size(), matrixDuration.toMillis());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error computing match matrix", e);
+            response.put("success", false);
+            response.put("error", "Failed to compute match matrix: " + e.getMessage());
+            response.put("timestamp", LocalDateTime.now().toString());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    @GetMapping("/api/candidates/{candidateId}/best-jobs")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getBestJobsForCandidate(
+            @PathVariable String candidateId,
+            @RequestParam(value = "limit", defaultValue = "3") int limit) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (candidateService.getCandidateById(candidateId) == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            List<Map<String, Object>> bestJobs = candidateService.findBestJobsForCandidate(candidateId, limit);
+
+            response.put("success", true);
+            response.put("candidateId", candidateId);
+            response.put("bestJobs", bestJobs);
+            response.put("timestamp", LocalDateTime.now().toString());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error finding best jobs for candidate: {}", candidateId, e);
+            response.put("success", false);
+            response.put("error", "Failed to find best jobs: " + e.getMessage());
+            response.put("timestamp", LocalDateTime.now().toString());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
     // ========================================
     // DATA ACCESS ENDPOINTS
     // ========================================
@@ -1037,7 +1335,7 @@ public class HRController {
             
             // API endpoints
             List<String> endpoints = List.of(
-                "/api/upload", "/api/upload/batch", "/api/match",
+                "/api/upload", "/api/upload/batch", "/api/match", "/api/match/stream", "/api/match/matrix",
                 "/api/candidates", "/api/jobs", "/api/analytics/summary"
             );
             serviceInfo.put("endpoints", endpoints);
@@ -1096,14 +1394,18 @@ public class HRController {
             // Check service dependencies
             boolean isHealthy = checkServiceHealth();
             
-            health.put("status", isHealthy ? "UP" : "DOWN");
+            // An open circuit breaker means uploads are refused and matching is heuristic-only
+            boolean awsDegraded = circuitBreakers.isAnyOpen();
+            health.put("status", !isHealthy ? "DOWN" : awsDegraded ? "DEGRADED" : "UP");
             health.put("timestamp", LocalDateTime.now().toString());
             
             // Component health checks
-            Map<String, String> components = new HashMap<>();
+            Map<String, Object> components = new HashMap<>();
             components.put("candidateService", candidateService != null ? "UP" : "DOWN");
             components.put("database", "UP"); // Add actual DB check if using database
-            components.put("aws", "UP");      // Add actual AWS health check
+            Map<String, Object> aws = new HashMap<>(circuitBreakers.getStatistics());
+            aws.put("status", awsDegraded ? "DEGRADED" : "UP");
+            components.put("aws", aws);
             components.put("memoryUsage", getMemoryUsage());
             health.put("components", components);
             
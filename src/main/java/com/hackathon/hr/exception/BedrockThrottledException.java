@@ -0,0 +1,11 @@
+package com.hackathon.hr.exception;
+
+/**
+ * Bedrock kept throttling after the client-side limiter's retries ran out.
+ * Callers should surface this rather than substitute default data.
+ */
+public class BedrockThrottledException extends DocumentProcessingException {
+    public BedrockThrottledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
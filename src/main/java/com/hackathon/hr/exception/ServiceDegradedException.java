@@ -0,0 +1,11 @@
+package com.hackathon.hr.exception;
+
+/**
+ * A downstream AWS service's circuit breaker is open, so the call was
+ * refused without reaching the service.
+ */
+public class ServiceDegradedException extends RuntimeException {
+    public ServiceDegradedException(String message) {
+        super(message);
+    }
+}
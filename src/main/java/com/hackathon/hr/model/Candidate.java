@@ -1,6 +1,8 @@
 // src/main/java/com/hackathon/hr/model/Candidate.java
 package com.hackathon.hr.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -14,6 +16,22 @@ public class Candidate {
     private String education;
     private LocalDateTime processedAt;
 
+    // Filled by the enhanced / structured skills extraction; null when not extracted
+    private Integer yearsOfExperience;
+    private List<String> certifications;
+    private List<String> industries;
+    private List<String> programmingLanguages;
+    private List<String> frameworks;
+    private List<String> tools;
+    private List<String> databases;
+    private List<String> cloudPlatforms;
+    private List<String> keyAchievements;
+    private String summary;
+
+    // Technical skills as a bitset over SkillDictionary IDs; internal to matching
+    @JsonIgnore
+    private long[] skillVector;
+
     // Constructors
     public Candidate() {}
 
@@ -48,4 +66,37 @@ public class Candidate {
 
     public LocalDateTime getProcessedAt() { return processedAt; }
     public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+
+    public Integer getYearsOfExperience() { return yearsOfExperience; }
+    public void setYearsOfExperience(Integer yearsOfExperience) { this.yearsOfExperience = yearsOfExperience; }
+
+    public List<String> getCertifications() { return certifications; }
+    public void setCertifications(List<String> certifications) { this.certifications = certifications; }
+
+    public List<String> getIndustries() { return industries; }
+    public void setIndustries(List<String> industries) { this.industries = industries; }
+
+    public List<String> getProgrammingLanguages() { return programmingLanguages; }
+    public void setProgrammingLanguages(List<String> programmingLanguages) { this.programmingLanguages = programmingLanguages; }
+
+    public List<String> getFrameworks() { return frameworks; }
+    public void setFrameworks(List<String> frameworks) { this.frameworks = frameworks; }
+
+    public List<String> getTools() { return tools; }
+    public void setTools(List<String> tools) { this.tools = tools; }
+
+    public List<String> getDatabases() { return databases; }
+    public void setDatabases(List<String> databases) { this.databases = databases; }
+
+    public List<String> getCloudPlatforms() { return cloudPlatforms; }
+    public void setCloudPlatforms(List<String> cloudPlatforms) { this.cloudPlatforms = cloudPlatforms; }
+
+    public List<String> getKeyAchievements() { return keyAchievements; }
+    public void setKeyAchievements(List<String> keyAchievements) { this.keyAchievements = keyAchievements; }
+
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+
+    public long[] getSkillVector() { return skillVector; }
+    public void setSkillVector(long[] skillVector) { this.skillVector = skillVector; }
 }
\ No newline at end of file
@@ -1,7 +1,12 @@
 // src/main/java/com/hackathon/hr/model/JobRequirement.java
 package com.hackathon.hr.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class JobRequirement {
     private String id;
@@ -11,6 +16,14 @@ public class JobRequirement {
     private String experienceLevel;
     private String education;
 
+    // Required skills as a bitset over SkillDictionary IDs; internal to matching
+    @JsonIgnore
+    private long[] requiredSkillVector;
+
+    // Bumped by every content setter, so cached scores can tell they are out of date
+    @JsonIgnore
+    private final AtomicLong revision = new AtomicLong();
+
     // Constructors
     public JobRequirement() {}
 
@@ -18,7 +31,7 @@ public class JobRequirement {
         this.id = java.util.UUID.randomUUID().toString();
         this.title = title;
         this.description = description;
-        this.requiredSkills = requiredSkills;
+        this.requiredSkills = copyOf(requiredSkills);
         this.experienceLevel = experienceLevel;
     }
 
@@ -27,17 +40,44 @@ public class JobRequirement {
     public void setId(String id) { this.id = id; }
 
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) {
+        this.title = title;
+        revision.incrementAndGet();
+    }
 
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) {
+        this.description = description;
+        revision.incrementAndGet();
+    }
 
+    // Read-only so every change goes through the setter and bumps the revision
     public List<String> getRequiredSkills() { return requiredSkills; }
-    public void setRequiredSkills(List<String> requiredSkills) { this.requiredSkills = requiredSkills; }
+    public void setRequiredSkills(List<String> requiredSkills) {
+        this.requiredSkills = copyOf(requiredSkills);
+        this.requiredSkillVector = null;
+        revision.incrementAndGet();
+    }
 
     public String getExperienceLevel() { return experienceLevel; }
-    public void setExperienceLevel(String experienceLevel) { this.experienceLevel = experienceLevel; }
+    public void setExperienceLevel(String experienceLevel) {
+        this.experienceLevel = experienceLevel;
+        revision.incrementAndGet();
+    }
 
     public String getEducation() { return education; }
-    public void setEducation(String education) { this.education = education; }
+    public void setEducation(String education) {
+        this.education = education;
+        revision.incrementAndGet();
+    }
+
+    public long[] getRequiredSkillVector() { return requiredSkillVector; }
+    public void setRequiredSkillVector(long[] requiredSkillVector) { this.requiredSkillVector = requiredSkillVector; }
+
+    @JsonIgnore
+    public long getRevision() { return revision.get(); }
+
+    private static List<String> copyOf(List<String> skills) {
+        return skills == null ? null : Collections.unmodifiableList(new ArrayList<>(skills));
+    }
 }
\ No newline at end of file
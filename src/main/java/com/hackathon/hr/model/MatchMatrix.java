@@ -0,0 +1,58 @@
+// src/main/java/com/hackathon/hr/model/MatchMatrix.java
+package com.hackathon.hr.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heuristic scores of every job against every candidate. Row i of
+ * {@code scores} belongs to {@code jobIds[i]}, column j to {@code candidateIds[j]}.
+ */
+public class MatchMatrix {
+    private final List<String> jobIds;
+    private final List<String> candidateIds;
+    private final float[][] scores;
+    private final Map<String, List<MatchResult>> topMatches;
+    private final int topN;
+    private final LocalDateTime computedAt = LocalDateTime.now();
+
+    // Data version the matrix was computed from; internal to CandidateService
+    @JsonIgnore
+    private final long version;
+
+    @JsonIgnore
+    private final Map<String, Integer> candidateIndex = new HashMap<>();
+
+    public MatchMatrix(List<String> jobIds, List<String> candidateIds, float[][] scores,
+                       Map<String, List<MatchResult>> topMatches, int topN, long version) {
+        this.jobIds = jobIds;
+        this.candidateIds = candidateIds;
+        this.scores = scores;
+        this.topMatches = topMatches;
+        this.topN = topN;
+        this.version = version;
+        for (int j = 0; j < candidateIds.size(); j++) {
+            candidateIndex.put(candidateIds.get(j), j);
+        }
+    }
+
+    /**
+     * Column index of a candidate, or -1 if the candidate is not in the matrix.
+     */
+    public int indexOfCandidate(String candidateId) {
+        return candidateIndex.getOrDefault(candidateId, -1);
+    }
+
+    // Getters
+    public List<String> getJobIds() { return jobIds; }
+    public List<String> getCandidateIds() { return candidateIds; }
+    public float[][] getScores() { return scores; }
+    public Map<String, List<MatchResult>> getTopMatches() { return topMatches; }
+    public int getTopN() { return topN; }
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public long getVersion() { return version; }
+}
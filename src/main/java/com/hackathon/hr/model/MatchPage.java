@@ -0,0 +1,31 @@
+// src/main/java/com/hackathon/hr/model/MatchPage.java
+package com.hackathon.hr.model;
+
+import java.util.List;
+
+/**
+ * One page of ranked matches for a job plus statistics over all matches.
+ */
+public class MatchPage {
+    private final List<MatchResult> matches;
+    private final int totalMatches;
+    private final int offset;
+    private final int limit;
+    private final MatchStatistics statistics;
+
+    public MatchPage(List<MatchResult> matches, int totalMatches, int offset, int limit, MatchStatistics statistics) {
+        this.matches = matches;
+        this.totalMatches = totalMatches;
+        this.offset = offset;
+        this.limit = limit;
+        this.statistics = statistics;
+    }
+
+    // Getters
+    public List<MatchResult> getMatches() { return matches; }
+    public int getTotalMatches() { return totalMatches; }
+    public int getOffset() { return offset; }
+    public int getLimit() { return limit; }
+    public MatchStatistics getStatistics() { return statistics; }
+    public boolean hasMore() { return offset + matches.size() < totalMatches; }
+}
@@ -6,6 +6,7 @@ public class MatchResult {
     private String candidateName;
     private double score;
     private String justification;
+    private boolean aiScored;
 
     public MatchResult(String candidateId, String candidateName, double score) {
         this.candidateId = candidateId;
@@ -31,5 +32,13 @@ public class MatchResult {
 		this.justification = justification;
 	}
 
+	public boolean isAiScored() {
+		return aiScored;
+	}
+
+	public void setAiScored(boolean aiScored) {
+		this.aiScored = aiScored;
+	}
+
    
 }
\ No newline at end of file
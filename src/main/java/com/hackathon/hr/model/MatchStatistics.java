@@ -0,0 +1,39 @@
+// src/main/java/com/hackathon/hr/model/MatchStatistics.java
+package com.hackathon.hr.model;
+
+/**
+ * Running score statistics for a match request, filled in the same pass that
+ * selects the returned page.
+ */
+public class MatchStatistics {
+    private long count;
+    private double total;
+    private double highest = Double.NEGATIVE_INFINITY;
+    private double lowest = Double.POSITIVE_INFINITY;
+    private long excellentMatches;
+    private long goodMatches;
+    private long fairMatches;
+
+    public void record(double score) {
+        count++;
+        total += score;
+        highest = Math.max(highest, score);
+        lowest = Math.min(lowest, score);
+        if (score >= 80) {
+            excellentMatches++;
+        } else if (score >= 60) {
+            goodMatches++;
+        } else {
+            fairMatches++;
+        }
+    }
+
+    // Getters
+    public long getCount() { return count; }
+    public double getAverageScore() { return count == 0 ? 0 : total / count; }
+    public double getHighestScore() { return count == 0 ? 0 : highest; }
+    public double getLowestScore() { return count == 0 ? 0 : lowest; }
+    public long getExcellentMatches() { return excellentMatches; }
+    public long getGoodMatches() { return goodMatches; }
+    public long getFairMatches() { return fairMatches; }
+}
@@ -0,0 +1,306 @@
+// src/main/java/com/hackathon/hr/service/BedrockHedging.java
+package com.hackathon.hr.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hedged Bedrock calls: when a call has not returned by the model's
+ * observed latency percentile, a duplicate is sent (optionally to another
+ * model or region), the first success wins and the other call is cancelled.
+ * A credit budget keeps hedges to a fixed share of calls, so a slow
+ * Bedrock is not answered with double the load, and a hedge is only sent
+ * if the caller's hedge supplier finds spare rate-limit and permit capacity.
+ */
+@Component
+public class BedrockHedging {
+
+    private static final Logger logger = LoggerFactory.getLogger(BedrockHedging.class);
+
+    @Value("${aws.bedrock.hedging.enabled:false}")
+    private boolean enabled;
+
+    // Comma-separated ModelRouter call sites whose calls may be hedged
+    @Value("${aws.bedrock.hedging.call-sites:matching}")
+    private String callSitesSetting;
+
+    // Hedge once a call is slower than this share of the model's recent calls
+    @Value("${aws.bedrock.hedging.percentile:0.90}")
+    private double percentile;
+
+    // Floor on the hedge delay, for when the observed percentile is very low
+    @Value("${aws.bedrock.hedging.min-delay.ms:500}")
+    private long minDelayMs;
+
+    // Long-run hedges per call; each call earns this much credit, each hedge spends 1
+    @Value("${aws.bedrock.hedging.max-rate:0.10}")
+    private double maxRate;
+
+    // Most unspent credit, i.e. hedges allowed back to back after a quiet spell
+    @Value("${aws.bedrock.hedging.burst:5}")
+    private double burst;
+
+    // Model the hedge goes to; blank for the call's own model
+    @Value("${aws.bedrock.hedging.model-id:}")
+    private String hedgeModelId;
+
+    // Region the hedge goes to; blank for the primary client's region
+    @Value("${aws.bedrock.hedging.region:}")
+    private String hedgeRegion;
+
+    @Value("${AWS_REGION:${aws.region:us-east-1}}")
+    private String region;
+
+    @Value("${hr.execution.limit.bedrock:32}")
+    private int hedgeMaxConnections;
+
+    private final LanguageModelClient primaryClient;
+    private final AwsCredentialsProvider credentialsProvider;
+    private final ModelRouter modelRouter;
+    private final TaskExecutorFactory taskExecutorFactory;
+
+    private final Set<ModelRouter.CallSite> callSites = EnumSet.noneOf(ModelRouter.CallSite.class);
+    private LanguageModelClient hedgeClient;
+    private BedrockRuntimeAsyncClient regionalClient;
+    private ScheduledExecutorService scheduler;
+
+    private double credit;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong primaryWins = new AtomicLong();
+    private final AtomicLong budgetDenied = new AtomicLong();
+    private final AtomicLong capacityDenied = new AtomicLong();
+    private final AtomicLong noEstimate = new AtomicLong();
+
+    public BedrockHedging(LanguageModelClient primaryClient, AwsCredentialsProvider credentialsProvider,
+                          ModelRouter modelRouter, TaskExecutorFactory taskExecutorFactory) {
+        this.primaryClient = primaryClient;
+        this.credentialsProvider = credentialsProvider;
+        this.modelRouter = modelRouter;
+        this.taskExecutorFactory = taskExecutorFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        for (String site : callSitesSetting.split(",")) {
+            if (!site.isBlank()) {
+                callSites.add(ModelRouter.CallSite.valueOf(site.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        credit = Math.max(1, burst);
+        if (!enabled) {
+            return;
+        }
+
+        hedgeClient = primaryClient;
+        if (!hedgeRegion.isBlank() && !hedgeRegion.trim().equals(region)) {
+            if (primaryClient instanceof BedrockLanguageModelClient) {
+                regionalClient = BedrockRuntimeAsyncClient.builder()
+                        .region(Region.of(hedgeRegion.trim()))
+                        .credentialsProvider(credentialsProvider)
+                        .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(hedgeMaxConnections))
+                        .build();
+                hedgeClient = new BedrockLanguageModelClient(null, regionalClient);
+            } else {
+                logger.info("Hedge region {} ignored: the language model client is not Bedrock", hedgeRegion.trim());
+            }
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(taskExecutorFactory.schedulerThreadFactory("bedrock-hedge"));
+        logger.info("Bedrock hedging for {} after p{} (min {}ms), up to {} of calls, to {} in {}",
+                callSites, Math.round(percentile * 100), minDelayMs, maxRate,
+                hedgeModelId.isBlank() ? "the same model" : hedgeModelId,
+                regionalClient == null ? region : hedgeRegion.trim());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (regionalClient != null) {
+            regionalClient.close();
+        }
+    }
+
+    /**
+     * How long to wait before hedging a call to this profile's model, or -1
+     * if calls from this site are not hedged or there is no latency
+     * estimate yet.
+     */
+    public long delayMillis(ModelRouter.CallSite site, ModelProfile profile) {
+        if (!enabled || !callSites.contains(site)) {
+            return -1;
+        }
+        long observed = modelRouter.latencyPercentile(profile.getModelId(), percentile);
+        if (observed < 0) {
+            noEstimate.incrementAndGet();
+            return -1;
+        }
+        return Math.max(minDelayMs, observed);
+    }
+
+    /**
+     * Profile for the hedge of a call made with {@code profile}.
+     */
+    public ModelProfile hedgeProfile(ModelProfile profile) {
+        return hedgeModelId.isBlank() ? profile : profile.withModel(hedgeModelId.trim());
+    }
+
+    public LanguageModelClient getHedgeClient() {
+        return hedgeClient;
+    }
+
+    /**
+     * Start {@code primary}; if it is still running after
+     * {@code delayMillis} and the budget allows, start {@code hedge} too;
+     * {@code hedge} returns null when there is no capacity for it, and the
+     * call goes on unhedged.
+     * The first success completes the result and cancels the other call; a
+     * failure only completes it when no other call is still running.
+     * Cancelling the result cancels both calls.
+     */
+    public <T> CompletableFuture<T> hedge(long delayMillis, Supplier<CompletableFuture<T>> primary,
+                                          Supplier<CompletableFuture<T>> hedge) {
+        calls.incrementAndGet();
+        earnCredit();
+        HedgedCall<T> call = new HedgedCall<>();
+        call.primary = primary.get();
+        call.primary.whenComplete((value, error) -> call.settle(call.primary, value, error));
+        call.timer = scheduler.schedule(() -> call.startHedge(hedge), delayMillis, TimeUnit.MILLISECONDS);
+        call.result.whenComplete((value, error) -> call.cleanUp());
+        return call.result;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("callSites", callSites.toString());
+        statistics.put("calls", calls.get());
+        statistics.put("hedgesSent", hedgesSent.get());
+        statistics.put("hedgeWins", hedgeWins.get());
+        statistics.put("primaryWins", primaryWins.get());
+        long sent = hedgesSent.get();
+        statistics.put("hedgeWinRate", sent == 0 ? 0.0 : Math.round(hedgeWins.get() * 1000.0 / sent) / 1000.0);
+        statistics.put("budgetDenied", budgetDenied.get());
+        statistics.put("capacityDenied", capacityDenied.get());
+        statistics.put("noLatencyEstimate", noEstimate.get());
+        synchronized (this) {
+            statistics.put("credit", Math.round(credit * 100) / 100.0);
+        }
+        return statistics;
+    }
+
+    // ========================================
+    // BUDGET
+    // ========================================
+
+    private synchronized void earnCredit() {
+        credit = Math.min(Math.max(1, burst), credit + maxRate);
+    }
+
+    private synchronized boolean spendCredit() {
+        if (credit < 1) {
+            return false;
+        }
+        credit -= 1;
+        return true;
+    }
+
+    private synchronized void refundCredit() {
+        credit = Math.min(Math.max(1, burst), credit + 1);
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    /**
+     * State of one hedged call; all transitions hold the object's lock.
+     */
+    private class HedgedCall<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private CompletableFuture<T> primary;
+        private CompletableFuture<T> hedge;
+        private ScheduledFuture<?> timer;
+
+        void startHedge(Supplier<CompletableFuture<T>> hedgeCall) {
+            synchronized (this) {
+                if (result.isDone() || primary.isDone()) {
+                    return;
+                }
+                if (!spendCredit()) {
+                    budgetDenied.incrementAndGet();
+                    return;
+                }
+                try {
+                    hedge = hedgeCall.get();
+                } catch (RuntimeException e) {
+                    refundCredit();
+                    logger.debug("Could not send Bedrock hedge: {}", e.toString());
+                    return;
+                }
+                if (hedge == null) {
+                    refundCredit();
+                    capacityDenied.incrementAndGet();
+                    return;
+                }
+                hedgesSent.incrementAndGet();
+            }
+            hedge.whenComplete((value, error) -> settle(hedge, value, error));
+        }
+
+        synchronized void settle(CompletableFuture<T> from, T value, Throwable error) {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> other = from == primary ? hedge : primary;
+            if (error == null) {
+                if (other != null) {
+                    (from == hedge ? hedgeWins : primaryWins).incrementAndGet();
+                }
+                result.complete(value);
+                return;
+            }
+            // Hedging is not a retry: a failure stands unless the other call is still running
+            if (other == null || other.isDone()) {
+                result.completeExceptionally(error);
+            }
+        }
+
+        synchronized void cleanUp() {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            // Cancelling the client future abandons the call (for Bedrock, aborts the HTTP request)
+            if (primary != null && !primary.isDone()) {
+                primary.cancel(true);
+            }
+            if (hedge != null && !hedge.isDone()) {
+                hedge.cancel(true);
+            }
+        }
+    }
+}
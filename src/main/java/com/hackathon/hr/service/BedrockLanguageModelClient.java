@@ -0,0 +1,233 @@
+// src/main/java/com/hackathon/hr/service/BedrockLanguageModelClient.java
+package com.hackathon.hr.service;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelWithResponseStreamRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelWithResponseStreamResponseHandler;
+import software.amazon.awssdk.services.bedrockruntime.model.PayloadPart;
+import software.amazon.awssdk.services.bedrockruntime.model.ResponseStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * {@link LanguageModelClient} backed by Bedrock's InvokeModel and
+ * InvokeModelWithResponseStream APIs with Nova request and response bodies.
+ * The default unless {@code aws.bedrock.client} selects another client.
+ */
+@Component
+@ConditionalOnProperty(name = "aws.bedrock.client", havingValue = "bedrock", matchIfMissing = true)
+public class BedrockLanguageModelClient implements LanguageModelClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(BedrockLanguageModelClient.class);
+
+    private final BedrockRuntimeClient syncClient;
+    private final BedrockRuntimeAsyncClient asyncClient;
+
+    /**
+     * @param syncClient client for blocking calls; if null they wait on the async client
+     */
+    public BedrockLanguageModelClient(BedrockRuntimeClient syncClient, BedrockRuntimeAsyncClient asyncClient) {
+        this.syncClient = syncClient;
+        this.asyncClient = asyncClient;
+    }
+
+    @Override
+    public String invoke(ModelProfile profile, String prompt) {
+        if (syncClient == null) {
+            return invokeAsync(profile, prompt).join();
+        }
+        InvokeModelResponse response = syncClient.invokeModel(buildRequest(profile, prompt));
+        return responseText(response);
+    }
+
+    @Override
+    public CompletableFuture<String> invokeAsync(ModelProfile profile, String prompt) {
+        CompletableFuture<InvokeModelResponse> call = asyncClient.invokeModel(buildRequest(profile, prompt));
+        CompletableFuture<String> text = call.thenApply(this::responseText);
+        // Cancelling the SDK future aborts the HTTP request; the dependent future alone would not
+        text.whenComplete((ignored, error) -> {
+            if (text.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return text;
+    }
+
+    @Override
+    public CompletableFuture<String> invokeStream(ModelProfile profile, String prompt,
+                                                  Consumer<String> onText, BooleanSupplier stopWhen) {
+        InvokeModelWithResponseStreamRequest request = InvokeModelWithResponseStreamRequest.builder()
+                .modelId(profile.getModelId())
+                .contentType("application/json")
+                .accept("application/json")
+                .body(buildRequestBody(profile, prompt))
+                .overrideConfiguration(timeoutFor(profile))
+                .build();
+        StreamSubscriber subscriber = new StreamSubscriber(onText, stopWhen);
+        CompletableFuture<Void> call = asyncClient.invokeModelWithResponseStream(request,
+                InvokeModelWithResponseStreamResponseHandler.builder()
+                        .subscriber(() -> subscriber)
+                        .build());
+        call.whenComplete((ignored, error) -> subscriber.finish(error));
+        // Cancelling the result stops the event stream and aborts the request
+        subscriber.result.whenComplete((ignored, error) -> {
+            if (subscriber.result.isCancelled()) {
+                subscriber.cancel();
+                call.cancel(true);
+            }
+        });
+        return subscriber.result;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("client", "bedrock");
+        return statistics;
+    }
+
+    private InvokeModelRequest buildRequest(ModelProfile profile, String prompt) {
+        return InvokeModelRequest.builder()
+                .modelId(profile.getModelId())
+                .contentType("application/json")
+                .accept("application/json")
+                .body(buildRequestBody(profile, prompt))
+                .overrideConfiguration(timeoutFor(profile))
+                .build();
+    }
+
+    /**
+     * Request JSON encoded once, straight into the array the SDK sends.
+     */
+    private SdkBytes buildRequestBody(ModelProfile profile, String prompt) {
+        return SdkBytes.fromByteArrayUnsafe(BedrockPayloads.writeRequest(prompt,
+                profile.getMaxTokens(), profile.getTemperature(), profile.getTopP()));
+    }
+
+    private static AwsRequestOverrideConfiguration timeoutFor(ModelProfile profile) {
+        return AwsRequestOverrideConfiguration.builder()
+                .apiCallTimeout(profile.getTimeout())
+                .build();
+    }
+
+    private String responseText(InvokeModelResponse response) {
+        byte[] responseBody = response.body().asByteArrayUnsafe();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Raw response: {}", new String(responseBody, StandardCharsets.UTF_8));
+        }
+
+        try {
+            // Nova Premier response format; the rest of the body is skipped, not parsed
+            String responseText = BedrockPayloads.readResponseText(responseBody);
+            logger.debug("Model response: {}", responseText);
+            return responseText;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    /**
+     * Consumes one response stream: pulls the text delta out of each Nova
+     * chunk, hands it to the caller and cancels the stream when the caller
+     * has enough.
+     */
+    private static class StreamSubscriber implements Subscriber<ResponseStream> {
+        private final Consumer<String> onText;
+        private final BooleanSupplier stopWhen;
+        private final StringBuilder text = new StringBuilder();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private volatile Subscription subscription;
+
+        StreamSubscriber(Consumer<String> onText, BooleanSupplier stopWhen) {
+            this.onText = onText;
+            this.stopWhen = stopWhen;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (result.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(ResponseStream event) {
+            if (result.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            try {
+                if (event instanceof PayloadPart) {
+                    String delta = BedrockPayloads.readChunkText(((PayloadPart) event).bytes().asByteArrayUnsafe());
+                    if (!delta.isEmpty()) {
+                        text.append(delta);
+                        onText.accept(delta);
+                        if (stopWhen.getAsBoolean()) {
+                            result.complete(text.toString());
+                            subscription.cancel();
+                            return;
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+                subscription.cancel();
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            finish(error);
+        }
+
+        @Override
+        public void onComplete() {
+            finish(null);
+        }
+
+        void cancel() {
+            Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        void finish(Throwable error) {
+            if (result.isDone()) {
+                return;
+            }
+            if (error == null) {
+                result.complete(text.toString());
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+}
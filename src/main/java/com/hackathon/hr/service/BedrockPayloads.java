@@ -0,0 +1,118 @@
+// src/main/java/com/hackathon/hr/service/BedrockPayloads.java
+package com.hackathon.hr.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Request and response bodies in the Nova messages format, written and read
+ * with Jackson's streaming API. The prompt is encoded once, straight to
+ * UTF-8 bytes, and a response is scanned for the one string we need
+ * instead of being built into a tree.
+ */
+final class BedrockPayloads {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Envelope and inferenceConfig around the prompt, in bytes
+    private static final int ENVELOPE_BYTES = 160;
+
+    private BedrockPayloads() {
+    }
+
+    /**
+     * {"messages":[{"role":"user","content":[{"text":prompt}]}],"inferenceConfig":{...}}
+     */
+    static byte[] writeRequest(String prompt, int maxTokens, double temperature, double topP) {
+        // Sized for an ASCII prompt so the common case never grows the buffer
+        ByteArrayBuilder body = new ByteArrayBuilder(prompt.length() + ENVELOPE_BYTES);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(body, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("messages");
+            generator.writeStartObject();
+            generator.writeStringField("role", "user");
+            generator.writeArrayFieldStart("content");
+            generator.writeStartObject();
+            generator.writeStringField("text", prompt);
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("inferenceConfig");
+            generator.writeNumberField("maxTokens", maxTokens);
+            generator.writeNumberField("temperature", temperature);
+            generator.writeNumberField("topP", topP);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // In-memory target; only reachable on a generator bug
+            throw new UncheckedIOException(e);
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * output.message.content[0].text of an InvokeModel response.
+     *
+     * @throws IOException if the body is not JSON or has no such field
+     */
+    static String readResponseText(byte[] body) throws IOException {
+        String text = readString(body, "output", "message", "content", "text");
+        if (text == null) {
+            throw new IOException("Unexpected Bedrock response: no output.message.content[0].text");
+        }
+        return text;
+    }
+
+    /**
+     * contentBlockDelta.delta.text of a response stream chunk, or "" for
+     * chunks that carry no text (message start and stop, metadata).
+     */
+    static String readChunkText(byte[] chunk) throws IOException {
+        String text = readString(chunk, "contentBlockDelta", "delta", "text");
+        return text == null ? "" : text;
+    }
+
+    /**
+     * The string at {@code path} of field names, entering the first element
+     * of any array met on the way; null if the path is not there. Fields
+     * off the path are skipped without being parsed into values.
+     */
+    private static String readString(byte[] json, String... path) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            JsonToken token = parser.nextToken();
+            for (String field : path) {
+                while (token == JsonToken.START_ARRAY) {
+                    token = parser.nextToken();
+                }
+                if (token != JsonToken.START_OBJECT || !findField(parser, field)) {
+                    return null;
+                }
+                token = parser.nextToken();
+            }
+            return token == JsonToken.VALUE_STRING ? parser.getText() : null;
+        }
+    }
+
+    /**
+     * Advance through the current object to {@code name}; false if the
+     * object ends first.
+     */
+    private static boolean findField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (name.equals(parser.getCurrentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
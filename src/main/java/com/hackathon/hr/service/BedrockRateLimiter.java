@@ -0,0 +1,440 @@
+// src/main/java/com/hackathon/hr/service/BedrockRateLimiter.java
+package com.hackathon.hr.service;
+
+import com.hackathon.hr.exception.BedrockThrottledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.bedrockruntime.model.ThrottlingException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Client-side admission control for Bedrock. A token bucket keeps the request
+ * rate under the account quota, and an AIMD concurrency limit halves on every
+ * ThrottlingException and grows back by about one slot per window of
+ * successful calls. Throttled calls are retried after a jittered backoff;
+ * only when the retries run out does the caller see a
+ * {@link BedrockThrottledException}.
+ */
+@Component
+public class BedrockRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BedrockRateLimiter.class);
+
+    // How often an async caller re-checks for a free concurrency slot
+    private static final long ASYNC_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+
+    @Value("${aws.bedrock.rate-limit.requests-per-minute:100}")
+    private double requestsPerMinute;
+
+    @Value("${aws.bedrock.rate-limit.burst:10}")
+    private int burst;
+
+    // How long a call waits for a token and a concurrency slot before it is refused
+    @Value("${aws.bedrock.rate-limit.acquire-timeout.ms:60000}")
+    private long acquireTimeoutMs;
+
+    @Value("${aws.bedrock.concurrency.initial:8}")
+    private int initialConcurrency;
+
+    @Value("${aws.bedrock.concurrency.min:1}")
+    private int minConcurrency;
+
+    @Value("${aws.bedrock.concurrency.max:${hr.execution.limit.bedrock:32}}")
+    private int maxConcurrency;
+
+    // Multiplicative decrease applied to the concurrency limit on a throttle
+    @Value("${aws.bedrock.concurrency.backoff-ratio:0.5}")
+    private double backoffRatio;
+
+    @Value("${aws.bedrock.throttle.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${aws.bedrock.throttle.base-delay.ms:500}")
+    private long baseDelayMs;
+
+    @Value("${aws.bedrock.throttle.max-delay.ms:20000}")
+    private long maxDelayMs;
+
+    private final TaskExecutorFactory taskExecutorFactory;
+    private ScheduledExecutorService scheduler;
+
+    // ReentrantLock rather than synchronized so waiting virtual threads do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // Guarded by lock
+    private double tokens;
+    private double tokensPerNano;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+    private final AtomicLong limitDecreases = new AtomicLong();
+    private final AtomicLong admissionWaitNanos = new AtomicLong();
+
+    public BedrockRateLimiter(TaskExecutorFactory taskExecutorFactory) {
+        this.taskExecutorFactory = taskExecutorFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        minConcurrency = Math.max(1, minConcurrency);
+        maxConcurrency = Math.max(minConcurrency, maxConcurrency);
+        burst = Math.max(1, burst);
+        tokensPerNano = Math.max(requestsPerMinute, 1) / TimeUnit.MINUTES.toNanos(1);
+        tokens = burst;
+        lastRefillNanos = System.nanoTime();
+        lastDecreaseNanos = lastRefillNanos;
+        concurrencyLimit = Math.min(maxConcurrency, Math.max(minConcurrency, initialConcurrency));
+        scheduler = Executors.newSingleThreadScheduledExecutor(taskExecutorFactory.schedulerThreadFactory("bedrock-limiter"));
+        logger.info("Bedrock rate limit: {} requests/min (burst {}), concurrency {} in [{}, {}], {} attempts per call",
+                requestsPerMinute, burst, (int) concurrencyLimit, minConcurrency, maxConcurrency, maxAttempts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Run a blocking Bedrock call once a token and a concurrency slot are
+     * free, retrying it with backoff while Bedrock throttles.
+     *
+     * @throws BedrockThrottledException if every attempt was throttled
+     * @throws RejectedExecutionException if no slot frees up within the acquire timeout
+     */
+    public <T> T execute(Callable<T> call) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            long startedAt = acquire();
+            try {
+                T result = call.call();
+                release(startedAt, false);
+                return result;
+            } catch (Exception e) {
+                boolean throttle = isThrottle(e);
+                release(startedAt, throttle);
+                if (!throttle) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    throw giveUp(attempt, e);
+                }
+            }
+            retries.incrementAndGet();
+            try {
+                Thread.sleep(backoffMillis(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BedrockThrottledException("Interrupted while backing off from Bedrock throttling", e);
+            }
+        }
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #execute}: admission waits and
+     * backoffs are scheduled instead of slept, and cancelling the returned
+     * future cancels the in-flight call. Each attempt first needs a permit
+     * from {@code permits} (null while none is free), the async equivalent
+     * of a blocking caller's {@link DownstreamLimiter} permit; it is held
+     * until the attempt ends.
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call,
+                                                 Supplier<DownstreamLimiter.Permit> permits) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(call, permits, result, 1, System.nanoTime(), deadlineFromNow());
+        return result;
+    }
+
+    /**
+     * One attempt, started only if a token and a concurrency slot are free
+     * right now; null otherwise. No retries, but a throttle still cuts the
+     * limit. For optional extra calls such as hedges, which should use
+     * spare capacity or none. The call's own future is returned, so
+     * cancelling it cancels the call.
+     */
+    public <T> CompletableFuture<T> tryExecuteAsync(Supplier<CompletableFuture<T>> call) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            if (tryAdmit(now) != 0) {
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            release(now, false);
+            throw e;
+        }
+        future.whenComplete((value, error) -> release(now, error != null && isThrottle(error)));
+        return future;
+    }
+
+    /**
+     * Token bucket, AIMD limit and retry counters.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            statistics.put("requestsPerMinute", requestsPerMinute);
+            statistics.put("burst", burst);
+            statistics.put("availableTokens", String.format(Locale.ROOT, "%.2f", tokens));
+            statistics.put("concurrencyLimit", (int) concurrencyLimit);
+            statistics.put("inFlight", inFlight);
+        } finally {
+            lock.unlock();
+        }
+        long admittedCalls = admitted.get();
+        statistics.put("admitted", admittedCalls);
+        statistics.put("throttled", throttled.get());
+        statistics.put("retries", retries.get());
+        statistics.put("exhausted", exhausted.get());
+        statistics.put("limitDecreases", limitDecreases.get());
+        statistics.put("averageAdmissionWaitMs",
+                admittedCalls == 0 ? 0 : admissionWaitNanos.get() / admittedCalls / 1_000_000);
+        return statistics;
+    }
+
+    /**
+     * True for Bedrock throttling, wherever it sits in the cause chain.
+     */
+    public static boolean isThrottle(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ThrottlingException) {
+                return true;
+            }
+            if (t instanceof SdkServiceException && ((SdkServiceException) t).isThrottlingException()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========================================
+    // ADMISSION
+    // ========================================
+
+    private long acquire() {
+        long start = System.nanoTime();
+        long deadline = deadlineFromNow();
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    long wait = tryAdmit(now);
+                    if (wait == 0) {
+                        admissionWaitNanos.addAndGet(now - start);
+                        return now;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        throw new RejectedExecutionException("Bedrock rate limit: waited " + acquireTimeoutMs
+                                + "ms for a request slot (" + inFlight + " in flight, limit " + (int) concurrencyLimit + ")");
+                    }
+                    released.awaitNanos(Math.min(wait, remaining));
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a Bedrock request slot", e);
+        }
+    }
+
+    private <T> void attemptAsync(Supplier<CompletableFuture<T>> call, Supplier<DownstreamLimiter.Permit> permits,
+                                  CompletableFuture<T> result, int attempt, long waitingSince, long deadline) {
+        if (result.isDone()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long wait;
+        DownstreamLimiter.Permit permit = permits.get();
+        if (permit == null) {
+            // Polled like a full concurrency limit
+            wait = Long.MAX_VALUE;
+        } else {
+            lock.lock();
+            try {
+                wait = tryAdmit(now);
+            } finally {
+                lock.unlock();
+            }
+            if (wait != 0) {
+                permit.close();
+            }
+        }
+
+        if (wait != 0) {
+            if (now >= deadline) {
+                result.completeExceptionally(new RejectedExecutionException("Bedrock rate limit: waited "
+                        + acquireTimeoutMs + "ms for a request slot"));
+                return;
+            }
+            long delay = Math.min(Math.min(wait, ASYNC_POLL_NANOS), deadline - now);
+            scheduler.schedule(() -> attemptAsync(call, permits, result, attempt, waitingSince, deadline),
+                    delay, TimeUnit.NANOSECONDS);
+            return;
+        }
+        admissionWaitNanos.addAndGet(now - waitingSince);
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            permit.close();
+            release(now, false);
+            result.completeExceptionally(e);
+            return;
+        }
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+
+        future.whenComplete((value, error) -> {
+            permit.close();
+            if (error == null) {
+                release(now, false);
+                result.complete(value);
+                return;
+            }
+            boolean throttle = isThrottle(error);
+            release(now, throttle);
+            if (!throttle) {
+                result.completeExceptionally(unwrap(error));
+            } else if (attempt >= maxAttempts) {
+                result.completeExceptionally(giveUp(attempt, error));
+            } else {
+                retries.incrementAndGet();
+                scheduler.schedule(() -> {
+                    long retryAt = System.nanoTime();
+                    attemptAsync(call, permits, result, attempt + 1, retryAt,
+                            retryAt + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs));
+                }, backoffMillis(attempt), TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    /**
+     * Take a token and a concurrency slot if both are free. Returns 0 when
+     * admitted, otherwise roughly how long to wait before trying again.
+     * Caller holds the lock.
+     */
+    private long tryAdmit(long now) {
+        refill(now);
+        if (inFlight >= (int) concurrencyLimit) {
+            // A release signals waiters; the async path polls
+            return Long.MAX_VALUE;
+        }
+        if (tokens < 1) {
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+        tokens -= 1;
+        inFlight++;
+        admitted.incrementAndGet();
+        return 0;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Free the call's slot and adjust the limit: additive increase on
+     * success, multiplicative decrease on a throttle. Calls that started
+     * before the last decrease do not cut the limit again, so one burst of
+     * throttles only halves it once.
+     */
+    private void release(long startedAt, boolean throttle) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (throttle) {
+                throttled.incrementAndGet();
+                // Spend the burst allowance too; it is what got us throttled
+                tokens = Math.min(tokens, 0);
+                if (startedAt - lastDecreaseNanos > 0) {
+                    double previous = concurrencyLimit;
+                    concurrencyLimit = Math.max(minConcurrency, concurrencyLimit * backoffRatio);
+                    lastDecreaseNanos = System.nanoTime();
+                    limitDecreases.incrementAndGet();
+                    logger.warn("Bedrock throttled; concurrency limit {} -> {}", (int) previous, (int) concurrencyLimit);
+                }
+            } else {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========================================
+    // RETRY HELPERS
+    // ========================================
+
+    /**
+     * Exponential backoff with jitter: somewhere between half and all of
+     * base * 2^(attempt-1), capped at the max delay.
+     */
+    private long backoffMillis(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+    }
+
+    private BedrockThrottledException giveUp(int attempts, Throwable error) {
+        exhausted.incrementAndGet();
+        logger.error("Bedrock still throttling after {} attempts", attempts);
+        return new BedrockThrottledException("The AI service is rate limiting requests; still throttled after "
+                + attempts + " attempts. Please try again in a minute.", unwrap(error));
+    }
+
+    private long deadlineFromNow() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
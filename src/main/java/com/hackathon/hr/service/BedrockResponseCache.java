@@ -0,0 +1,433 @@
+// src/main/java/com/hackathon/hr/service/BedrockResponseCache.java
+package com.hackathon.hr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache for Bedrock completions keyed on a SHA-256 of model ID,
+ * inference config and prompt. The memory tier is an LRU bounded by size and
+ * TTL; the optional disk tier keeps entries across restarts and is swept
+ * periodically for expired files and down to its own entry bound.
+ */
+@Component
+public class BedrockResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BedrockResponseCache.class);
+
+    private final MeterRegistry meterRegistry;
+    private final TaskExecutorFactory taskExecutorFactory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${aws.bedrock.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aws.bedrock.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${aws.bedrock.cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${aws.bedrock.cache.disk.enabled:false}")
+    private boolean diskEnabled;
+
+    @Value("${aws.bedrock.cache.disk.directory:${java.io.tmpdir}/hr-agent-bedrock-cache}")
+    private String diskDirectory;
+
+    // Oldest files beyond this count are deleted by the sweep
+    @Value("${aws.bedrock.cache.disk.max-entries:2000}")
+    private int diskMaxEntries;
+
+    @Value("${aws.bedrock.cache.disk.sweep-interval-minutes:10}")
+    private long diskSweepIntervalMinutes;
+
+    // Access-ordered so iteration starts at the least recently used entry; guarded by "this"
+    private final LinkedHashMap<String, CacheEntry> memory = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong sizeEvictions = new AtomicLong();
+    private final AtomicLong expiredEvictions = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+
+    private Path diskPath;
+    private long ttlMillis;
+    private ScheduledExecutorService sweeper;
+
+    public BedrockResponseCache(MeterRegistry meterRegistry, TaskExecutorFactory taskExecutorFactory) {
+        this.meterRegistry = meterRegistry;
+        this.taskExecutorFactory = taskExecutorFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        ttlMillis = ttlMinutes * 60_000L;
+
+        if (enabled && diskEnabled) {
+            try {
+                diskPath = Paths.get(diskDirectory);
+                Files.createDirectories(diskPath);
+            } catch (IOException e) {
+                logger.warn("Could not create Bedrock cache directory {}, disk tier disabled", diskDirectory, e);
+                diskPath = null;
+            }
+        }
+        if (diskPath != null) {
+            // First run straight away to clear what earlier runs left behind
+            sweeper = Executors.newSingleThreadScheduledExecutor(
+                    taskExecutorFactory.schedulerThreadFactory("bedrock-cache-sweep"));
+            sweeper.scheduleWithFixedDelay(this::sweepDisk, 0,
+                    Math.max(1, diskSweepIntervalMinutes), TimeUnit.MINUTES);
+        }
+
+        FunctionCounter.builder("bedrock.cache.requests", memoryHits, AtomicLong::get)
+                .tag("result", "hit").tag("tier", "memory")
+                .description("Bedrock cache lookups").register(meterRegistry);
+        FunctionCounter.builder("bedrock.cache.requests", diskHits, AtomicLong::get)
+                .tag("result", "hit").tag("tier", "disk")
+                .description("Bedrock cache lookups").register(meterRegistry);
+        FunctionCounter.builder("bedrock.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss").tag("tier", "none")
+                .description("Bedrock cache lookups").register(meterRegistry);
+        FunctionCounter.builder("bedrock.cache.evictions", sizeEvictions, AtomicLong::get)
+                .tag("cause", "size")
+                .description("Bedrock cache entries evicted").register(meterRegistry);
+        FunctionCounter.builder("bedrock.cache.evictions", expiredEvictions, AtomicLong::get)
+                .tag("cause", "expired")
+                .description("Bedrock cache entries evicted").register(meterRegistry);
+        Gauge.builder("bedrock.cache.size", this, BedrockResponseCache::size)
+                .description("Bedrock responses held in memory").register(meterRegistry);
+
+        logger.info("BedrockResponseCache initialized: enabled={}, maxEntries={}, ttl={}min, disk={}",
+                enabled, maxEntries, ttlMinutes, diskPath != null ? diskPath : "disabled");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Build the cache key for one invocation. Any change to the model or its
+     * sampling parameters yields a different key.
+     */
+    public String buildKey(String modelId, String inferenceConfig, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(modelId.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(inferenceConfig.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public String get(String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            CacheEntry entry = memory.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(now, ttlMillis)) {
+                    memoryHits.incrementAndGet();
+                    return entry.value;
+                }
+                memory.remove(key);
+                expiredEvictions.incrementAndGet();
+            }
+        }
+
+        CacheEntry diskEntry = readFromDisk(key, now);
+        if (diskEntry != null) {
+            diskHits.incrementAndGet();
+            putInMemory(key, diskEntry);
+            return diskEntry.value;
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, String value) {
+        if (!enabled || value == null) {
+            return;
+        }
+
+        CacheEntry entry = new CacheEntry(value, System.currentTimeMillis());
+        putInMemory(key, entry);
+        writeToDisk(key, entry);
+    }
+
+    /**
+     * Drop one entry, e.g. a response the caller could not use.
+     */
+    public void remove(String key) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            memory.remove(key);
+        }
+        if (diskPath != null) {
+            try {
+                Files.deleteIfExists(diskPath.resolve(key + ".json"));
+            } catch (IOException e) {
+                logger.debug("Could not delete cache file for key {}", key, e);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (this) {
+            memory.clear();
+        }
+        if (diskPath != null) {
+            try (var files = Files.list(diskPath)) {
+                files.filter(p -> p.toString().endsWith(".json")).forEach(p -> {
+                    try {
+                        Files.deleteIfExists(p);
+                    } catch (IOException e) {
+                        logger.debug("Could not delete cache file {}", p, e);
+                    }
+                });
+            } catch (IOException e) {
+                logger.warn("Error clearing Bedrock disk cache", e);
+            }
+        }
+        logger.info("Bedrock response cache cleared");
+    }
+
+    public synchronized int size() {
+        return memory.size();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long hits = memoryHits.get() + diskHits.get();
+        long lookups = hits + misses.get();
+        stats.put("enabled", enabled);
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("sizeEvictions", sizeEvictions.get());
+        stats.put("expiredEvictions", expiredEvictions.get());
+        stats.put("hitRate", lookups == 0 ? 0.0 : Math.round(hits * 10000.0 / lookups) / 100.0);
+        stats.put("diskTier", diskPath != null);
+        stats.put("diskMaxEntries", diskMaxEntries);
+        stats.put("diskEvictions", diskEvictions.get());
+        return stats;
+    }
+
+    // ========================================
+    // MEMORY TIER
+    // ========================================
+
+    private synchronized void putInMemory(String key, CacheEntry entry) {
+        memory.put(key, entry);
+
+        // Drop expired entries first, then least recently used ones until within bounds
+        long now = System.currentTimeMillis();
+        Iterator<CacheEntry> iterator = memory.values().iterator();
+        while (iterator.hasNext() && memory.size() > maxEntries) {
+            CacheEntry candidate = iterator.next();
+            if (candidate.isExpired(now, ttlMillis)) {
+                iterator.remove();
+                expiredEvictions.incrementAndGet();
+            }
+        }
+        iterator = memory.values().iterator();
+        while (iterator.hasNext() && memory.size() > maxEntries) {
+            iterator.next();
+            iterator.remove();
+            sizeEvictions.incrementAndGet();
+        }
+    }
+
+    // ========================================
+    // DISK TIER
+    // ========================================
+
+    private CacheEntry readFromDisk(String key, long now) {
+        if (diskPath == null) {
+            return null;
+        }
+
+        Path file = diskPath.resolve(key + ".json");
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            JsonNode node = objectMapper.readTree(file.toFile());
+            CacheEntry entry = new CacheEntry(node.get("response").asText(), node.get("createdAt").asLong());
+            if (entry.isExpired(now, ttlMillis)) {
+                Files.deleteIfExists(file);
+                expiredEvictions.incrementAndGet();
+                return null;
+            }
+            return entry;
+        } catch (Exception e) {
+            logger.warn("Discarding unreadable Bedrock cache file {}", file, e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // best effort
+            }
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, CacheEntry entry) {
+        if (diskPath == null) {
+            return;
+        }
+
+        try {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("createdAt", entry.createdAt);
+            node.put("response", entry.value);
+
+            // Write then move so a crash never leaves a half-written entry behind
+            Path tmp = Files.createTempFile(diskPath, key, ".tmp");
+            objectMapper.writeValue(tmp.toFile(), node);
+            Files.move(tmp, diskPath.resolve(key + ".json"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not persist Bedrock cache entry {}", key, e);
+        }
+    }
+
+    /**
+     * Delete expired entries and stray temp files, then the oldest entries
+     * until at most diskMaxEntries remain. Ages come from the file
+     * modification time, which is the write time, so no file is parsed.
+     */
+    private void sweepDisk() {
+        if (diskPath == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Path> live = new ArrayList<>();
+        Map<Path, Long> writtenAt = new HashMap<>();
+        try (var files = Files.list(diskPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(".json") && !name.endsWith(".tmp")) {
+                    continue;
+                }
+                long modified = modifiedMillis(file);
+                if (modified < 0) {
+                    continue;
+                }
+                if (now - modified > ttlMillis) {
+                    if (deleteQuietly(file) && name.endsWith(".json")) {
+                        expiredEvictions.incrementAndGet();
+                    }
+                } else if (name.endsWith(".json")) {
+                    live.add(file);
+                    writtenAt.put(file, modified);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Error sweeping Bedrock disk cache {}", diskPath, e);
+            return;
+        }
+
+        int excess = live.size() - diskMaxEntries;
+        if (excess > 0) {
+            live.sort(Comparator.comparing(writtenAt::get));
+            for (int i = 0; i < excess; i++) {
+                if (deleteQuietly(live.get(i))) {
+                    diskEvictions.incrementAndGet();
+                }
+            }
+            logger.debug("Bedrock disk cache over {} entries, evicted {} oldest", diskMaxEntries, excess);
+        }
+    }
+
+    private static long modifiedMillis(Path file) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            return modified.toMillis();
+        } catch (IOException e) {
+            // Removed concurrently
+            return -1;
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Could not delete cache file {}", file, e);
+            return false;
+        }
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    private static class CacheEntry {
+        private final String value;
+        private final long createdAt;
+
+        CacheEntry(String value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(long now, long ttlMillis) {
+            return now - createdAt > ttlMillis;
+        }
+    }
+}
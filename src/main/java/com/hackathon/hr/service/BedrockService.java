@@ -1,108 +1,650 @@
 // src/main/java/com/hackathon/hr/service/BedrockService.java
 package com.hackathon.hr.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.hr.exception.BedrockThrottledException;
+import com.hackathon.hr.exception.ServiceDegradedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
-import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
-import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
-import javax.annotation.PostConstruct;
+import software.amazon.awssdk.core.exception.AbortedException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 public class BedrockService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(BedrockService.class);
-    
-    private final BedrockRuntimeClient bedrockRuntimeClient;
-    private final ObjectMapper objectMapper;
-    
-    // Read from environment variable first, then fall back to property
-    @Value("${BEDROCK_MODEL_ID:${aws.bedrock.model-id:us.amazon.nova-premier-v1:0}}")
-    private String modelId;
-    
-    public BedrockService(BedrockRuntimeClient bedrockRuntimeClient) {
-        this.bedrockRuntimeClient = bedrockRuntimeClient;
-        this.objectMapper = new ObjectMapper();
-    }
-    
-    @PostConstruct
-    public void init() {
-        logger.info("BedrockService initialized with model: {}", modelId);
-        if (modelId == null || modelId.isEmpty()) {
-            throw new IllegalStateException("Bedrock model ID is not configured");
-        }
-    }
-    
-    public String invokeModel(String prompt) {
+
+    private final LanguageModelClient client;
+    private final BedrockResponseCache responseCache;
+    private final DownstreamLimiter downstreamLimiter;
+    private final BedrockRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final ModelRouter modelRouter;
+    private final BedrockHedging hedging;
+
+    // Calls in progress by cache key; concurrent identical prompts share one call
+    private final Map<String, SharedCall> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    @Value("${aws.bedrock.single-flight.enabled:true}")
+    private boolean singleFlightEnabled;
+
+    // Callers that can use partial output stream it with InvokeModelWithResponseStream
+    @Value("${aws.bedrock.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    private final AtomicLong streamedCalls = new AtomicLong();
+    private final AtomicLong earlyStops = new AtomicLong();
+
+    public BedrockService(LanguageModelClient client,
+                          BedrockResponseCache responseCache,
+                          DownstreamLimiter downstreamLimiter,
+                          BedrockRateLimiter rateLimiter,
+                          ServiceCircuitBreakers circuitBreakers,
+                          ModelRouter modelRouter,
+                          BedrockHedging hedging) {
+        this.client = client;
+        this.responseCache = responseCache;
+        this.downstreamLimiter = downstreamLimiter;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreakers.get(DownstreamLimiter.Downstream.BEDROCK);
+        this.modelRouter = modelRouter;
+        this.hedging = hedging;
+    }
+
+    /**
+     * Output token limit per call from this site, for callers sizing batched prompts.
+     */
+    public int getMaxTokens(ModelRouter.CallSite site) {
+        return modelRouter.route(site).getMaxTokens();
+    }
+
+    /**
+     * False while the Bedrock circuit breaker is open, i.e. a call would be
+     * refused with {@link ServiceDegradedException}.
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    /**
+     * Invoke the model {@link ModelRouter} picks for this call site, serving
+     * identical (model, inference config, prompt) requests from
+     * {@link BedrockResponseCache} when possible. A caller
+     * whose prompt is already in flight waits for that call instead of
+     * starting another; if the caller running that call is interrupted, the
+     * callers waiting on it run the call again rather than fail with it.
+     * Cache hits are served even while the circuit breaker is open.
+     *
+     * @throws ServiceDegradedException if the circuit breaker is open
+     */
+    public String invokeModel(ModelRouter.CallSite site, String prompt) {
+        ModelProfile profile = modelRouter.route(site);
+        String cacheKey = responseCache.buildKey(profile.getModelId(), profile.getInferenceConfig(), prompt);
+        String cached = responseCache.get(cacheKey);
+        if (cached != null) {
+            logger.debug("Bedrock cache hit for key {}", cacheKey);
+            return cached;
+        }
+        
+        SharedCall call = new SharedCall(cacheKey);
+        SharedCall shared = singleFlightEnabled ? inFlight.putIfAbsent(cacheKey, call) : null;
+        if (shared != null) {
+            CompletableFuture<String> view = shared.join(null);
+            if (view == null) {
+                // Its callers all gave up just now; start a call of our own
+                return invokeModel(site, prompt);
+            }
+            coalescedCalls.incrementAndGet();
+            logger.debug("Joining in-flight Bedrock call for key {}", cacheKey);
+            String responseText = awaitShared(view);
+            // Null if the caller running the call was cancelled; run it for this caller instead
+            return responseText != null ? responseText : invokeModel(site, prompt);
+        }
+        
+        try {
+            String responseText = invokeModelUncached(site, profile, prompt);
+            responseCache.put(cacheKey, responseText);
+            call.finish(responseText, null);
+            return responseText;
+        } catch (Throwable e) {
+            // Errors too: a call left in flight would block every later identical prompt
+            if (Thread.currentThread().isInterrupted()) {
+                // Only this caller was cancelled; the others must not fail with it
+                call.abandon();
+            } else {
+                call.finish(null, e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #invokeModel}: same cache and
+     * single-flight sharing, same request and response format, but no thread
+     * waits on the HTTP call. Admission and throttle retries go through
+     * {@link BedrockRateLimiter}, which also holds a {@link DownstreamLimiter}
+     * Bedrock permit for each attempt, taken without blocking. Cancelling the returned future withdraws this caller,
+     * and once every caller sharing the call has withdrawn, the call itself
+     * is cancelled: a rate-limiter wait ends and a request in flight is
+     * aborted.
+     */
+    public CompletableFuture<String> invokeModelAsync(ModelRouter.CallSite site, String prompt) {
+        ModelProfile profile = modelRouter.route(site);
+        String cacheKey = responseCache.buildKey(profile.getModelId(), profile.getInferenceConfig(), prompt);
+        String cached = responseCache.get(cacheKey);
+        if (cached != null) {
+            logger.debug("Bedrock cache hit for key {}", cacheKey);
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        SharedCall call = new SharedCall(cacheKey);
+        SharedCall shared = singleFlightEnabled ? inFlight.putIfAbsent(cacheKey, call) : null;
+        if (shared != null) {
+            CompletableFuture<String> view = shared.join(() -> invokeModelAsync(site, prompt));
+            if (view == null) {
+                return invokeModelAsync(site, prompt);
+            }
+            coalescedCalls.incrementAndGet();
+            logger.debug("Joining in-flight Bedrock call for key {}", cacheKey);
+            return view;
+        }
+        
+        CompletableFuture<String> view = call.view(null);
+        call.start(invokeModelAsyncUncached(site, profile, prompt, cacheKey));
+        return view;
+    }
+
+    /**
+     * Streaming variant of {@link #invokeModelAsync}: each piece of text is
+     * passed to {@code onText} as the model generates it, and after each
+     * piece {@code stopWhen} is asked whether the caller has what it needs.
+     * If so the stream is cancelled, which also stops output tokens being
+     * generated, and the text so far is the result. Only a stream that ran
+     * to completion is cached, since {@link #invokeModel} serves the same
+     * key and must never return a cut-off reply. A cache hit is passed to {@code onText} in one piece. Streams are not
+     * shared between identical prompts, since each caller consumes its own.
+     * {@code onText} runs on SDK event threads and must not block.
+     * Cancelling the returned future ends a rate-limiter wait or cancels the
+     * stream itself.
+     */
+    public CompletableFuture<String> invokeModelStream(ModelRouter.CallSite site, String prompt,
+                                                       Consumer<String> onText, BooleanSupplier stopWhen) {
+        ModelProfile profile = modelRouter.route(site);
+        String cacheKey = responseCache.buildKey(profile.getModelId(), profile.getInferenceConfig(), prompt);
+        String cached = responseCache.get(cacheKey);
+        if (cached != null) {
+            logger.debug("Bedrock cache hit for key {}", cacheKey);
+            try {
+                onText.accept(cached);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (ServiceDegradedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        logger.debug("Invoking model {} (streaming) with prompt: {}", profile.getModelId(), prompt);
+        streamedCalls.incrementAndGet();
+        AtomicBoolean stoppedEarly = new AtomicBoolean();
+        CompletableFuture<String> attempt = rateLimiter.executeAsync(() -> timed(profile,
+                        () -> streamAttempt(profile, prompt, onText, stopWhen, stoppedEarly)),
+                () -> downstreamLimiter.tryAcquire(DownstreamLimiter.Downstream.BEDROCK));
+        
+        CompletableFuture<String> result = new CompletableFuture<>();
+        attempt.whenComplete((responseText, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+                if (!stoppedEarly.get()) {
+                    responseCache.put(cacheKey, responseText);
+                }
+                result.complete(responseText);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            // A failure after output began carries the SDK error as suppressed (see streamAttempt)
+            circuitBreaker.onError(cause.getSuppressed().length > 0 ? cause.getSuppressed()[0] : cause);
+            if (cause instanceof BedrockThrottledException || cause instanceof RejectedExecutionException
+                    || cause instanceof CancellationException) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            logger.error("Error streaming from Bedrock model: {}", profile.getModelId(), cause);
+            result.completeExceptionally(new RuntimeException("Failed to invoke AI model", cause));
+        });
+        // Cancelling the result cancels the rate-limiter wait or the stream in flight
+        result.whenComplete((responseText, error) -> {
+            if (result.isCancelled()) {
+                attempt.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Streamed calls and how many were cut short once the caller had what it needed.
+     */
+    public Map<String, Object> getStreamingStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", streamingEnabled);
+        statistics.put("streamedCalls", streamedCalls.get());
+        statistics.put("earlyStops", earlyStops.get());
+        return statistics;
+    }
+
+    /**
+     * Forget the cached response for this prompt, so the next call goes to
+     * the model again. For responses the caller found unusable. Covers the
+     * site's fallback model too, since routing may have changed since.
+     */
+    public void invalidate(ModelRouter.CallSite site, String prompt) {
+        for (ModelProfile profile : modelRouter.candidates(site)) {
+            responseCache.remove(responseCache.buildKey(profile.getModelId(), profile.getInferenceConfig(), prompt));
+        }
+    }
+
+    /**
+     * In-flight calls and how many callers joined an existing call instead
+     * of starting their own.
+     */
+    public Map<String, Object> getSingleFlightStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", singleFlightEnabled);
+        statistics.put("inFlight", inFlight.size());
+        statistics.put("coalescedCalls", coalescedCalls.get());
+        return statistics;
+    }
+
+    /**
+     * Wait on a shared call; null if the caller running it was cancelled.
+     */
+    private String awaitShared(CompletableFuture<String> shared) {
+        try {
+            return shared.get();
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Failed to invoke AI model", e.getCause());
+        } catch (InterruptedException e) {
+            // Withdraw from the call; it is cancelled if no other caller is left
+            shared.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for AI model", e);
+        }
+    }
+
+    private CompletableFuture<String> invokeModelAsyncUncached(ModelRouter.CallSite site, ModelProfile profile,
+                                                               String prompt, String cacheKey) {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (ServiceDegradedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        logger.debug("Invoking model {} (async) with prompt: {}", profile.getModelId(), prompt);
+        CompletableFuture<String> attempt = rateLimiter.executeAsync(() -> {
+            long hedgeDelay = hedging.delayMillis(site, profile);
+            return hedgeDelay < 0
+                    ? timed(profile, () -> client.invokeAsync(profile, prompt))
+                    : invokeHedged(hedgeDelay, profile, prompt);
+        }, () -> downstreamLimiter.tryAcquire(DownstreamLimiter.Downstream.BEDROCK));
+        
+        CompletableFuture<String> result = new CompletableFuture<>();
+        attempt.whenComplete((responseText, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+                responseCache.put(cacheKey, responseText);
+                result.complete(responseText);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            // A cancellation is no outage; this just hands back a half-open trial permit
+            circuitBreaker.onError(cause);
+            if (cause instanceof BedrockThrottledException || cause instanceof RejectedExecutionException
+                    || cause instanceof CancellationException) {
+                // Callers tell load shedding apart from failures; keep these unwrapped
+                result.completeExceptionally(cause);
+                return;
+            }
+            logger.error("Error invoking Bedrock model: {}", profile.getModelId(), cause);
+            result.completeExceptionally(new RuntimeException("Failed to invoke AI model", cause));
+        });
+        // Cancelling the result cancels the rate-limiter wait or the call in flight
+        result.whenComplete((responseText, error) -> {
+            if (result.isCancelled()) {
+                attempt.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private String invokeModelUncached(ModelRouter.CallSite site, ModelProfile profile, String prompt) {
+        // Fail fast instead of waiting out the SDK timeout against a dead endpoint
+        circuitBreaker.acquirePermission();
+        String responseText;
         try {
-            logger.debug("Invoking model {} with prompt: {}", modelId, prompt);
+            logger.debug("Invoking model {} with prompt: {}", profile.getModelId(), prompt);
             
-            // Create the correct JSON payload for Nova Premier
-            String jsonBody = String.format("""
-                {
-                    "messages": [
-                        {
-                            "role": "user",
-                            "content": [
-                                {
-                                    "text": "%s"
-                                }
-                            ]
+            // Permit first: a wait for it must not hold a rate-limiter slot and read as Bedrock latency
+            try (DownstreamLimiter.Permit permit = downstreamLimiter.acquire(DownstreamLimiter.Downstream.BEDROCK)) {
+                responseText = rateLimiter.execute(() -> {
+                    long hedgeDelay = hedging.delayMillis(site, profile);
+                    if (hedgeDelay >= 0) {
+                        // Hedging needs two calls in flight, so this one goes through the async client
+                        CompletableFuture<String> hedged = invokeHedged(hedgeDelay, profile, prompt);
+                        try {
+                            return hedged.get();
+                        } catch (ExecutionException e) {
+                            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                        } catch (InterruptedException e) {
+                            // Cancelling the hedged call cancels the primary and the hedge alike
+                            hedged.cancel(true);
+                            Thread.currentThread().interrupt();
+                            throw e;
                         }
-                    ],
-                    "inferenceConfig": {
-                        "maxTokens": 2000,
-                        "temperature": 0.7,
-                        "topP": 0.9
                     }
-                }
-                """, escapeJsonString(prompt));
-                
-            InvokeModelRequest request = InvokeModelRequest.builder()
-                    .modelId(modelId)
-                    .contentType("application/json")
-                    .accept("application/json")
-                    .body(SdkBytes.fromUtf8String(jsonBody))
-                    .build();
-                    
-            InvokeModelResponse response = bedrockRuntimeClient.invokeModel(request);
-            
-            // Parse response
-            String responseBody = response.body().asUtf8String();
-            logger.debug("Raw response: {}", responseBody);
-            
-            JsonNode jsonResponse = objectMapper.readTree(responseBody);
-            
-            // Extract text from Nova Premier response format
-            String responseText = jsonResponse.get("output")
-                                            .get("message")
-                                            .get("content")
-                                            .get(0)
-                                            .get("text")
-                                            .asText();
-            
-            logger.debug("Model response: {}", responseText);
-            return responseText;
+                    long start = System.nanoTime();
+                    try {
+                        String attempt = client.invoke(profile, prompt);
+                        recordAttempt(profile, start, null);
+                        return attempt;
+                    } catch (RuntimeException e) {
+                        recordAttempt(profile, start, e);
+                        throw e;
+                    }
+                });
+            }
+            circuitBreaker.onSuccess();
             
+        } catch (BedrockThrottledException | RejectedExecutionException e) {
+            // Still throttled, or no rate-limit slot or permit in time: shed load, don't wrap
+            circuitBreaker.onError(e);
+            throw e;
         } catch (Exception e) {
-            logger.error("Error invoking Bedrock model: {}", modelId, e);
+            if (isInterruption(e)) {
+                // Cancelled by the caller: no outage, and nothing worth an error log
+                circuitBreaker.onError(new CancellationException("Bedrock call interrupted"));
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for AI model", e);
+            }
+            circuitBreaker.onError(e);
+            logger.error("Error invoking Bedrock model: {}", profile.getModelId(), e);
             throw new RuntimeException("Failed to invoke AI model", e);
         }
+        return responseText;
+    }
+
+    /**
+     * One streamed attempt. Early stops are counted and flagged in
+     * {@code stoppedEarly}, and a failure after the caller has seen part of
+     * the output is reported so the rate limiter does not replay it.
+     */
+    private CompletableFuture<String> streamAttempt(ModelProfile profile, String prompt,
+                                                    Consumer<String> onText, BooleanSupplier stopWhen,
+                                                    AtomicBoolean stoppedEarly) {
+        AtomicBoolean delivered = new AtomicBoolean();
+        CompletableFuture<String> result = new CompletableFuture<>();
+        CompletableFuture<String> stream = client.invokeStream(profile, prompt,
+                text -> {
+                    delivered.set(true);
+                    onText.accept(text);
+                },
+                () -> {
+                    boolean stop = stopWhen.getAsBoolean();
+                    if (stop) {
+                        earlyStops.incrementAndGet();
+                        stoppedEarly.set(true);
+                    }
+                    return stop;
+                });
+        stream.whenComplete((text, error) -> {
+            if (error == null) {
+                result.complete(text);
+            } else if (delivered.get()) {
+                // Hide the cause from the rate limiter's throttle check
+                RuntimeException failure = new RuntimeException("Bedrock stream failed after output began: " + error);
+                failure.addSuppressed(error);
+                result.completeExceptionally(failure);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        // The client's future cancels the stream; this one alone would not
+        result.whenComplete((text, error) -> {
+            if (result.isCancelled()) {
+                stream.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * One attempt with a hedge sent after {@code hedgeDelay} (see
+     * {@link BedrockHedging}). The hedge's answer is cached under the
+     * call's own key, like the primary's.
+     */
+    private CompletableFuture<String> invokeHedged(long hedgeDelay, ModelProfile profile, String prompt) {
+        ModelProfile hedgeProfile = hedging.hedgeProfile(profile);
+        return hedging.hedge(hedgeDelay,
+                () -> timed(profile, () -> client.invokeAsync(profile, prompt)),
+                () -> startHedge(hedgeProfile, prompt));
+    }
+
+    /**
+     * The hedge of a call, if a Bedrock permit and a rate-limiter slot are
+     * free right now; null otherwise. Hedges never wait for capacity, and a
+     * throttled hedge cuts the limiter's concurrency like any other call.
+     */
+    private CompletableFuture<String> startHedge(ModelProfile hedgeProfile, String prompt) {
+        DownstreamLimiter.Permit permit = downstreamLimiter.tryAcquire(DownstreamLimiter.Downstream.BEDROCK);
+        if (permit == null) {
+            return null;
+        }
+        CompletableFuture<String> hedge;
+        try {
+            hedge = rateLimiter.tryExecuteAsync(
+                    () -> timed(hedgeProfile, () -> hedging.getHedgeClient().invokeAsync(hedgeProfile, prompt)));
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        if (hedge == null) {
+            permit.close();
+            return null;
+        }
+        hedge.whenComplete((text, error) -> permit.close());
+        return hedge;
+    }
+
+    /**
+     * One attempt, timed for {@link ModelRouter}'s failover decisions. The
+     * client's future itself is returned, so cancelling it aborts the call.
+     */
+    private <T> CompletableFuture<T> timed(ModelProfile profile, Supplier<CompletableFuture<T>> attempt) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future = attempt.get();
+        future.whenComplete((result, error) -> recordAttempt(profile, start, error));
+        return future;
     }
-    
+
     /**
-     * Escape special characters in JSON strings
+     * True if the calling thread was interrupted, including when the SDK
+     * reports the interrupt as an aborted request and clears the flag.
      */
-    private String escapeJsonString(String input) {
-        return input.replace("\\", "\\\\")
-                   .replace("\"", "\\\"")
-                   .replace("\r", "\\r")
-                   .replace("\n", "\\n")
-                   .replace("\t", "\\t");
-    }
-}
\ No newline at end of file
+    private static boolean isInterruption(Throwable error) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException || t instanceof AbortedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recordAttempt(ModelProfile profile, long startNanos, Throwable error) {
+        if (error instanceof CancellationException) {
+            // A hedge loser or an abandoned call; its time says nothing about the model
+            return;
+        }
+        modelRouter.record(profile.getModelId(), (System.nanoTime() - startNanos) / 1_000_000,
+                error != null && BedrockRateLimiter.isThrottle(error));
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    /**
+     * One Bedrock call shared by every caller with the same cache key. Each
+     * caller waits on its own view of the result, so one caller cancelling
+     * never fails the others; the call itself is cancelled once every caller
+     * has cancelled. A blocking call runs on its creator's thread and cannot
+     * outlive it, so if that caller is interrupted the call is abandoned and
+     * each other caller runs it again.
+     */
+    private class SharedCall {
+        private final String cacheKey;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        // Guarded by this; the caller that created the call is its first waiter
+        private int waiters = 1;
+        private boolean abandoned;
+        private CompletableFuture<String> call;
+
+        SharedCall(String cacheKey) {
+            this.cacheKey = cacheKey;
+        }
+
+        /**
+         * A view for one more caller, or null if every caller so far has
+         * cancelled and the call is being abandoned.
+         *
+         * @param retry runs the call for this caller if it is abandoned; if
+         *              null, the view is cancelled instead
+         */
+        synchronized CompletableFuture<String> join(Supplier<CompletableFuture<String>> retry) {
+            if (abandoned) {
+                return null;
+            }
+            waiters++;
+            return view(retry);
+        }
+
+        /**
+         * A view of the result; cancelling it withdraws one waiter.
+         */
+        CompletableFuture<String> view(Supplier<CompletableFuture<String>> retry) {
+            CompletableFuture<String> view = new CompletableFuture<>();
+            result.whenComplete((text, error) -> {
+                if (error == null) {
+                    view.complete(text);
+                } else if (result.isCancelled() && retry != null && !view.isDone()) {
+                    CompletableFuture<String> again = retry.get();
+                    again.whenComplete((retried, retryError) -> {
+                        if (retryError == null) {
+                            view.complete(retried);
+                        } else {
+                            view.completeExceptionally(retryError);
+                        }
+                    });
+                    view.whenComplete((ignored, viewError) -> {
+                        if (view.isCancelled()) {
+                            again.cancel(true);
+                        }
+                    });
+                } else {
+                    view.completeExceptionally(error);
+                }
+            });
+            view.whenComplete((text, error) -> {
+                if (view.isCancelled() && !result.isDone()) {
+                    leave();
+                }
+            });
+            return view;
+        }
+
+        /**
+         * Take the result from an async call, cancelling it straight away if
+         * every caller has already left.
+         */
+        void start(CompletableFuture<String> asyncCall) {
+            boolean cancel;
+            synchronized (this) {
+                call = asyncCall;
+                cancel = abandoned;
+            }
+            asyncCall.whenComplete(this::finish);
+            if (cancel) {
+                asyncCall.cancel(true);
+            }
+        }
+
+        void finish(String text, Throwable error) {
+            inFlight.remove(cacheKey, this);
+            if (error == null) {
+                result.complete(text);
+            } else {
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        }
+
+        /**
+         * Give up a blocking call whose caller was interrupted. Its waiters
+         * retry, and later callers start a call of their own.
+         */
+        void abandon() {
+            synchronized (this) {
+                abandoned = true;
+            }
+            inFlight.remove(cacheKey, this);
+            // Not on this thread: it is interrupted, and the waiters' retries may read the disk cache
+            CompletableFuture.runAsync(() -> result.cancel(false));
+        }
+
+        private void leave() {
+            CompletableFuture<String> abandonedCall;
+            synchronized (this) {
+                if (--waiters > 0 || abandoned) {
+                    return;
+                }
+                abandoned = true;
+                // Later callers start a call of their own rather than join this one
+                inFlight.remove(cacheKey, this);
+                abandonedCall = call;
+            }
+            if (abandonedCall != null) {
+                abandonedCall.cancel(true);
+            }
+        }
+    }
+}
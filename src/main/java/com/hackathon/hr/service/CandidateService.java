@@ -2,12 +2,18 @@
 package com.hackathon.hr.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.hr.exception.BedrockThrottledException;
 import com.hackathon.hr.exception.DocumentProcessingException;
+import com.hackathon.hr.exception.ServiceDegradedException;
 import com.hackathon.hr.exception.UnsupportedDocumentFormatException;
 import com.hackathon.hr.model.Candidate;
 import com.hackathon.hr.model.JobRequirement;
+import com.hackathon.hr.model.MatchMatrix;
+import com.hackathon.hr.model.MatchPage;
 import com.hackathon.hr.model.MatchResult;
+import com.hackathon.hr.model.MatchStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,30 +21,61 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class CandidateService {
 
     private static final Logger logger = LoggerFactory.getLogger(CandidateService.class);
+    
+    private static final int DEFAULT_MATRIX_TOP_N = 5;
+    
+    private static final Comparator<MatchResult> BY_SCORE_DESC =
+            (a, b) -> Double.compare(b.getScore(), a.getScore());
+    
+    // First number in a free-text "years of experience" value
+    private static final Pattern YEARS_PATTERN = Pattern.compile("\\d+(\\.\\d+)?");
 
     private final S3Service s3Service;
     private final TextractService textractService;
     private final BedrockService bedrockService;
+    private final TaskExecutorFactory taskExecutorFactory;
     private final ObjectMapper objectMapper;
-    private final ExecutorService executorService;
 
     // In-memory storage for hackathon
     private final Map<String, Candidate> candidates = new ConcurrentHashMap<>();
     private final Map<String, JobRequirement> jobRequirements = new ConcurrentHashMap<>();
+    private final SkillDictionary skillDictionary = new SkillDictionary();
+    private final LenientJsonParser lenientJsonParser = new LenientJsonParser();
+    private final SkillIndex skillIndex = new SkillIndex();
+    
+    // Per-job heuristic rankings, maintained incrementally; updates and rebuilds hold the map's lock
+    private final Map<String, JobScoreTable> scoreTables = new ConcurrentHashMap<>();
+    
+    // Bumped on every candidate or job change; the cached match matrix is valid for one version
+    private final AtomicLong dataVersion = new AtomicLong();
+    private volatile MatchMatrix matchMatrix;
     
     // Processing status tracking
     private final Map<String, ProcessingStatus> processingStatusMap = new ConcurrentHashMap<>();
@@ -52,18 +89,123 @@ public class CandidateService {
     
     @Value("${candidate.skills.extraction.enhanced:true}")
     private boolean enhancedSkillsExtraction;
+    
+    // basic, enhanced or structured; empty keeps the choice made by candidate.skills.extraction.enhanced
+    @Value("${candidate.skills.extraction.mode:}")
+    private String extractionModeSetting;
+    
+    // Upper bound on concurrent Bedrock match calls across all /api/match requests
+    // (platform threads only; with virtual threads hr.execution.limit.bedrock applies)
+    @Value("${candidate.matching.ai.concurrency:8}")
+    private int aiMatchConcurrency;
+    
+    // Time budget for one match request; unfinished AI calls fall back to the heuristic
+    @Value("${candidate.matching.ai.deadline.ms:20000}")
+    private long aiMatchDeadlineMs;
+    
+    // heuristic, ai or two-stage; empty keeps the old behaviour driven by candidate.processing.async
+    @Value("${candidate.matching.mode:}")
+    private String matchingModeSetting;
+    
+    // Number of heuristic leaders re-scored by Bedrock in two-stage mode
+    @Value("${candidate.matching.two-stage.top-k:10}")
+    private int twoStageTopK;
+    
+    // Candidates sharing no required skill get a cheap skill-free heuristic score; false skips them
+    @Value("${candidate.matching.include-no-overlap:true}")
+    private boolean includeNoOverlap;
+    
+    // Compose AI match calls on the async Bedrock client instead of the AI match pool
+    @Value("${candidate.matching.ai.async:false}")
+    private boolean asyncAiMatching;
+    
+    // Score several candidates per Bedrock prompt; the job and rubric are sent once per batch
+    @Value("${candidate.matching.ai.batch.enabled:false}")
+    private boolean batchedAiMatching;
+    
+    @Value("${candidate.matching.ai.batch.max-candidates:10}")
+    private int batchMaxCandidates;
+    
+    // Estimated input tokens per batched prompt (about 4 characters per token)
+    @Value("${candidate.matching.ai.batch.token-budget:3000}")
+    private int batchTokenBudget;
+    
+    // Expected output tokens per candidate; with aws.bedrock.max-tokens this caps the batch size
+    @Value("${candidate.matching.ai.batch.output-tokens-per-candidate:80}")
+    private int batchOutputTokensPerCandidate;
+    
+    // Concurrent streamed match requests; each holds one thread while its AI calls run
+    @Value("${candidate.matching.stream.concurrency:4}")
+    private int matchStreamConcurrency;
+    
+    // Staged ingestion: workers and bounded input queue per stage (S3 upload, Textract, Bedrock)
+    @Value("${candidate.ingestion.upload.workers:4}")
+    private int uploadWorkers;
+    
+    @Value("${candidate.ingestion.upload.queue:20}")
+    private int uploadQueueCapacity;
+    
+    @Value("${candidate.ingestion.extract.workers:2}")
+    private int extractWorkers;
+    
+    @Value("${candidate.ingestion.extract.queue:10}")
+    private int extractQueueCapacity;
+    
+    @Value("${candidate.ingestion.analyze.workers:4}")
+    private int analyzeWorkers;
+    
+    @Value("${candidate.ingestion.analyze.queue:10}")
+    private int analyzeQueueCapacity;
+    
+    // How long a submission waits for room in the upload queue before it is refused
+    @Value("${candidate.ingestion.submit.timeout.ms:5000}")
+    private long ingestionSubmitTimeoutMs;
+    
+    // How long a synchronous upload or a batch waits for its results before reporting a timeout
+    @Value("${candidate.ingestion.result.timeout.ms:300000}")
+    private long ingestionResultTimeoutMs;
+    
+    // How long a finished status stays available to /api/upload/status
+    @Value("${candidate.ingestion.status.retention.minutes:30}")
+    private long statusRetentionMinutes;
+    
+    @Value("${candidate.compaction.enabled:true}")
+    private boolean compactionEnabled;
+    
+    // Estimated prompt tokens allowed for resume text; lower-priority sections are dropped past it
+    @Value("${candidate.compaction.token-budget:3000}")
+    private int compactionTokenBudget;
+    
+    private ExecutorService aiMatchExecutor;
+    private IngestionPipeline ingestionPipeline;
+    private ExecutorService matchStreamExecutor;
+    private MatchingMode matchingMode;
+    private ExtractionMode extractionMode;
+    private ResumeTextCompactor resumeTextCompactor;
 
     public CandidateService(S3Service s3Service, TextractService textractService,
-                            BedrockService bedrockService) {
+                            BedrockService bedrockService, TaskExecutorFactory taskExecutorFactory) {
         this.s3Service = s3Service;
         this.textractService = textractService;
         this.bedrockService = bedrockService;
+        this.taskExecutorFactory = taskExecutorFactory;
         this.objectMapper = new ObjectMapper();
-        this.executorService = Executors.newFixedThreadPool(5);
     }
     
     @PostConstruct
     public void init() {
+        aiMatchExecutor = taskExecutorFactory.newExecutor("ai-match", aiMatchConcurrency);
+        matchStreamExecutor = taskExecutorFactory.newExecutor("match-stream", matchStreamConcurrency);
+        ingestionPipeline = new IngestionPipeline(ingestionSubmitTimeoutMs, taskExecutorFactory)
+                .addStage("upload", uploadWorkers, uploadQueueCapacity, this::uploadStage)
+                .addStage("extract", extractWorkers, extractQueueCapacity, this::extractStage)
+                .addStage("analyze", analyzeWorkers, analyzeQueueCapacity, this::analyzeStage);
+        ingestionPipeline.start();
+        matchingMode = MatchingMode.resolve(matchingModeSetting, asyncProcessing);
+        logger.info("Candidate matching mode: {}", matchingMode);
+        extractionMode = ExtractionMode.resolve(extractionModeSetting, enhancedSkillsExtraction);
+        logger.info("Skills extraction mode: {}", extractionMode);
+        resumeTextCompactor = new ResumeTextCompactor(compactionEnabled, compactionTokenBudget);
         initializeSampleJobs();
         logger.info("CandidateService initialized with {} sample jobs", jobRequirements.size());
     }
@@ -80,6 +222,9 @@ public class CandidateService {
             Candidate removedCandidate = candidates.remove(candidateId);
             
             if (removedCandidate != null) {
+                skillIndex.remove(candidateId);
+                removeFromScoreTables(candidateId);
+                dataVersion.incrementAndGet();
                 logger.info("Candidate deleted: {} ({})", candidateId, removedCandidate.getFileName());
                 return true;
             } else {
@@ -97,6 +242,11 @@ public class CandidateService {
         try {
             int count = candidates.size();
             candidates.clear();
+            skillIndex.clear();
+            synchronized (scoreTables) {
+                scoreTables.values().forEach(JobScoreTable::clear);
+            }
+            dataVersion.incrementAndGet();
             
             // Also clean up any processing status entries
             processingStatusMap.clear();
@@ -118,72 +268,174 @@ public class CandidateService {
     }
     
     public Candidate processResume(MultipartFile file, String trackingId) {
+        if (trackingId != null) {
+            processingStatusMap.put(trackingId, new ProcessingStatus(trackingId, file.getOriginalFilename()));
+        }
+
+        byte[] content;
         try {
-            // Initialize processing status if tracking ID provided
-            if (trackingId != null) {
-                ProcessingStatus status = new ProcessingStatus(trackingId, file.getOriginalFilename());
-                processingStatusMap.put(trackingId, status);
-                updateProcessingStatus(trackingId, "uploading", 10);
-            }
-            
-            // Step 1: Upload to S3
-            String s3Key = s3Service.uploadFile(file);
-            if (trackingId != null) {
-                updateProcessingStatus(trackingId, "extracting", 30);
-            }
+            content = file.getBytes();
+        } catch (IOException e) {
+            logger.error("Error reading upload: {}", file.getOriginalFilename(), e);
+            String message = "Failed to process resume: " + e.getMessage();
+            failProcessing(trackingId, message);
+            throw new RuntimeException(message, e);
+        }
 
-            // Step 2: Extract text with Textract
-            String extractedText = textractService.extractText(s3Key);
-            if (trackingId != null) {
-                updateProcessingStatus(trackingId, "analyzing", 60);
-            }
+        IngestionJob job;
+        try {
+            job = enqueueResume(content, file.getOriginalFilename(), file.getContentType(), trackingId);
+        } catch (ServiceDegradedException e) {
+            throw new RuntimeException(describeIngestionFailure(e), e);
+        }
+        try {
+            return job.getResult().get(ingestionResultTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(describeIngestionFailure(e.getCause()), e.getCause());
+        } catch (TimeoutException e) {
+            TimeoutException timeout = ingestionTimeout(job);
+            throw new RuntimeException(describeIngestionFailure(timeout), timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Failed to process resume: interrupted", e);
+        }
+    }
+
+    /**
+     * Accept a resume for background processing and return at once. The
+     * bytes are copied first because the multipart temp file is deleted when
+     * the request ends; progress is published on the tracking ID's
+     * {@link ProcessingStatus}.
+     */
+    public ProcessingStatus submitResume(MultipartFile file, String trackingId) throws IOException {
+        byte[] content = file.getBytes();
 
-            // Step 3: Create candidate
-            Candidate candidate = new Candidate(file.getOriginalFilename(), extractedText);
+        purgeFinishedStatuses();
+        ProcessingStatus status = new ProcessingStatus(trackingId, file.getOriginalFilename());
+        status.setStatus("queued");
+        status.setProgress(5);
+        processingStatusMap.put(trackingId, status);
 
-            // Step 4: Analyze skills with Bedrock
-            if (enhancedSkillsExtraction) {
-                analyzeSkillsEnhanced(candidate);
+        try {
+            enqueueResume(content, file.getOriginalFilename(), file.getContentType(), trackingId);
+        } catch (ServiceDegradedException e) {
+            throw new RuntimeException(describeIngestionFailure(e), e);
+        }
+        logger.info("Queued resume {} for processing (tracking ID: {})", file.getOriginalFilename(), trackingId);
+        return status;
+    }
+
+    /**
+     * Ingestion pipeline statistics: queue depth, busy workers and latency per stage.
+     */
+    public Map<String, Object> getIngestionStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>(ingestionPipeline.getStatistics());
+        statistics.put("compaction", resumeTextCompactor.getStatistics());
+        return statistics;
+    }
+
+    /**
+     * @throws ServiceDegradedException if Textract or Bedrock is behind an
+     *         open circuit breaker; the resume is not queued
+     */
+    private IngestionJob enqueueResume(byte[] content, String fileName, String contentType, String trackingId) {
+        // Refuse up front rather than uploading a resume that cannot be analysed
+        if (!textractService.isAvailable() || !bedrockService.isAvailable()) {
+            ServiceDegradedException degraded = new ServiceDegradedException(!textractService.isAvailable()
+                    ? "Text extraction is temporarily unavailable. Please try again shortly."
+                    : "AI analysis is temporarily unavailable. Please try again shortly.");
+            failProcessing(trackingId, describeIngestionFailure(degraded), "degraded");
+            throw degraded;
+        }
+
+        IngestionJob job = new IngestionJob(trackingId, fileName, contentType, content);
+        job.getResult().whenComplete((candidate, error) -> {
+            if (error != null) {
+                String message = describeIngestionFailure(error);
+                logger.error("Error processing resume: {} - {}", fileName, message, error);
+                failProcessing(trackingId, message,
+                        error instanceof ServiceDegradedException ? "degraded" : "failed");
             } else {
-                analyzeSkills(candidate);
-            }
-            
-            if (trackingId != null) {
-                updateProcessingStatus(trackingId, "finalizing", 90);
+                logger.info("Processed candidate: {} with ID: {} (stages: {})",
+                        candidate.getFileName(), candidate.getId(), job.getStageTimings());
             }
+        });
 
-            // Step 5: Store candidate
-            candidates.put(candidate.getId(), candidate);
-            
-            // Update processing status to completed
-            if (trackingId != null) {
-                completeProcessing(trackingId, candidate.getId());
-            }
+        try {
+            ingestionPipeline.submit(job);
+        } catch (RejectedExecutionException e) {
+            failProcessing(trackingId, "Failed to process resume: " + e.getMessage());
+            throw e;
+        }
+        return job;
+    }
 
-            logger.info("Processed candidate: {} with ID: {}", candidate.getFileName(), candidate.getId());
-            return candidate;
+    // ========================================
+    // INGESTION STAGES
+    // ========================================
 
-        } catch (UnsupportedDocumentFormatException e) {
-            logger.error("Unsupported document format: {}", e.getMessage());
-            if (trackingId != null) {
-                updateProcessingStatus(trackingId, "error", 0);
-            }
-            throw new RuntimeException("DOCUMENT_FORMAT_ERROR: " + e.getMessage(), e);
-            
-        } catch (DocumentProcessingException e) {
-            logger.error("Document processing error: {}", e.getMessage());
-            if (trackingId != null) {
-                updateProcessingStatus(trackingId, "error", 0);
-            }
-            throw new RuntimeException("PROCESSING_ERROR: " + e.getMessage(), e);
-            
-        } catch (Exception e) {
-            logger.error("Error processing resume: {}", file.getOriginalFilename(), e);
-            if (trackingId != null) {
-                updateProcessingStatus(trackingId, "error", 0);
-            }
-            throw new RuntimeException("Failed to process resume: " + e.getMessage(), e);
+    private void uploadStage(IngestionJob job) {
+        updateProcessingStatus(job.getTrackingId(), "uploading", 10);
+        job.setS3Key(s3Service.uploadFile(job.getContent(), job.getFileName(), job.getContentType()));
+        updateProcessingStatus(job.getTrackingId(), "extracting", 30);
+    }
+
+    private void extractStage(IngestionJob job) {
+        job.setExtractedText(textractService.extractText(job.getS3Key()));
+        job.setPromptText(resumeTextCompactor.compact(job.getExtractedText()));
+        updateProcessingStatus(job.getTrackingId(), "analyzing", 60);
+    }
+
+    private void analyzeStage(IngestionJob job) {
+        Candidate candidate = new Candidate(job.getFileName(), job.getExtractedText());
+
+        switch (extractionMode) {
+            case STRUCTURED:
+                analyzeSkillsStructured(candidate, job.getPromptText());
+                break;
+            case ENHANCED:
+                analyzeSkillsEnhanced(candidate, job.getPromptText());
+                break;
+            default:
+                analyzeSkills(candidate, job.getPromptText());
+                break;
         }
+        updateProcessingStatus(job.getTrackingId(), "finalizing", 90);
+
+        candidate.setSkillVector(skillDictionary.encode(candidate.getTechnicalSkills()));
+        candidates.put(candidate.getId(), candidate);
+        skillIndex.add(candidate.getId(), candidate.getSkillVector());
+        addToScoreTables(candidate);
+        dataVersion.incrementAndGet();
+
+        completeProcessing(job.getTrackingId(), candidate.getId());
+        job.getResult().complete(candidate);
+    }
+
+    /**
+     * Give up on a job that has not finished in time. Failing its result
+     * marks the tracking status failed, and later stages skip the job.
+     */
+    private TimeoutException ingestionTimeout(IngestionJob job) {
+        TimeoutException timeout = new TimeoutException("no result after " + ingestionResultTimeoutMs + "ms");
+        job.getResult().completeExceptionally(timeout);
+        return timeout;
+    }
+
+    /**
+     * Error message with the prefix the upload endpoints use to classify failures.
+     */
+    private String describeIngestionFailure(Throwable error) {
+        if (error instanceof ServiceDegradedException) {
+            return "SERVICE_DEGRADED: " + error.getMessage();
+        }
+        if (error instanceof UnsupportedDocumentFormatException) {
+            return "DOCUMENT_FORMAT_ERROR: " + error.getMessage();
+        }
+        if (error instanceof DocumentProcessingException) {
+            return "PROCESSING_ERROR: " + error.getMessage();
+        }
+        return "Failed to process resume: " + error.getMessage();
     }
     
     private boolean isValidPDF(MultipartFile file) {
@@ -202,47 +454,60 @@ public class CandidateService {
         }
     }
     
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Ingest a batch in parallel: every file is copied and queued on the
+     * ingestion pipeline up front, so the stages work on the whole batch at
+     * once. Results come back in submission order with per-stage timings.
+     */
     public List<ProcessingResult> processBatch(MultipartFile[] files) {
-        List<ProcessingResult> results = new ArrayList<>();
-        List<CompletableFuture<ProcessingResult>> futures = new ArrayList<>();
-        
-        for (MultipartFile file : files) {
-            if (files.length > maxBatchSize) {
-                results.add(new ProcessingResult(file.getOriginalFilename(), false, 
-                    "Batch size exceeds maximum allowed: " + maxBatchSize));
-                continue;
+        if (files.length > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size exceeds maximum allowed: " + maxBatchSize);
+        }
+
+        IngestionJob[] jobs = new IngestionJob[files.length];
+        ProcessingResult[] results = new ProcessingResult[files.length];
+        for (int i = 0; i < files.length; i++) {
+            MultipartFile file = files[i];
+            try {
+                jobs[i] = enqueueResume(file.getBytes(), file.getOriginalFilename(), file.getContentType(), null);
+            } catch (IOException | RejectedExecutionException e) {
+                logger.error("Could not queue batch file: {}", file.getOriginalFilename(), e);
+                results[i] = new ProcessingResult(file.getOriginalFilename(), false,
+                        "Failed to process resume: " + e.getMessage());
+            } catch (ServiceDegradedException e) {
+                results[i] = new ProcessingResult(file.getOriginalFilename(), false, describeIngestionFailure(e));
             }
-            
-            CompletableFuture<ProcessingResult> future = CompletableFuture.supplyAsync(() -> {
-                try {
-                    Candidate candidate = processResume(file);
-                    return new ProcessingResult(file.getOriginalFilename(), true, 
-                        candidate.getId(), candidate.getTechnicalSkills() != null ? 
-                        candidate.getTechnicalSkills().size() : 0);
-                } catch (Exception e) {
-                    return new ProcessingResult(file.getOriginalFilename(), false, e.getMessage());
-                }
-            }, executorService);
-            
-            futures.add(future);
         }
-        
-        // Wait for all processing to complete
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        
-        // Collect results
-        for (CompletableFuture<ProcessingResult> future : futures) {
+
+        // One deadline for the whole batch, not one per file
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ingestionResultTimeoutMs);
+        for (int i = 0; i < files.length; i++) {
+            IngestionJob job = jobs[i];
+            if (job == null) {
+                continue;
+            }
             try {
-                results.add(future.get());
-            } catch (Exception e) {
-                logger.error("Error collecting batch processing result", e);
+                Candidate candidate = job.getResult().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                results[i] = new ProcessingResult(job.getFileName(), true, candidate.getId(),
+                        candidate.getTechnicalSkills() != null ? candidate.getTechnicalSkills().size() : 0);
+            } catch (ExecutionException e) {
+                results[i] = new ProcessingResult(job.getFileName(), false, describeIngestionFailure(e.getCause()));
+            } catch (TimeoutException e) {
+                results[i] = new ProcessingResult(job.getFileName(), false, describeIngestionFailure(ingestionTimeout(job)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results[i] = new ProcessingResult(job.getFileName(), false, "Failed to process resume: interrupted");
             }
+            results[i].setStageTimings(job.getStageTimings());
         }
-        
-        return results;
+        return Arrays.asList(results);
     }
 
-    private void analyzeSkills(Candidate candidate) {
+    private void analyzeSkills(Candidate candidate, String resumeText) {
         String prompt = String.format("""
             Analyze the following resume and extract information in JSON format.
             Return ONLY a valid JSON object with this exact structure:
@@ -265,10 +530,12 @@ public class CandidateService {
             
             Resume Text:
             %s
-            """, candidate.getExtractedText());
+            """, resumeText);
 
         try {
-            String response = bedrockService.invokeModel(prompt);
+            // Only these four are used; with streaming the rest is never generated
+            String response = invokeForObject(ModelRouter.CallSite.EXTRACTION, prompt,
+                    "technical_skills", "soft_skills", "experience_level", "education");
             
             // Clean the response to extract JSON
             String cleanedResponse = extractJsonFromResponse(response);
@@ -284,6 +551,9 @@ public class CandidateService {
 
             logger.info("Successfully analyzed skills for candidate: {}", candidate.getFileName());
 
+        } catch (BedrockThrottledException | RejectedExecutionException | ServiceDegradedException e) {
+            // Default skills would be stored as if real; fail the upload so it can be retried
+            throw e;
         } catch (Exception e) {
             logger.error("Error analyzing skills for candidate: {}", candidate.getFileName(), e);
             // Set default values if AI fails
@@ -291,7 +561,7 @@ public class CandidateService {
         }
     }
     
-    private void analyzeSkillsEnhanced(Candidate candidate) {
+    private void analyzeSkillsEnhanced(Candidate candidate, String resumeText) {
         // Enhanced version with more detailed analysis
         String prompt = String.format("""
             Perform a comprehensive analysis of this resume. Extract all relevant information.
@@ -316,43 +586,218 @@ public class CandidateService {
             
             Resume Text:
             %s
-            """, candidate.getExtractedText());
+            """, resumeText);
 
         try {
-            String response = bedrockService.invokeModel(prompt);
+            String response = invokeForObject(ModelRouter.CallSite.ANALYSIS, prompt);
             String cleanedResponse = extractJsonFromResponse(response);
-            Map<String, Object> skillsData = objectMapper.readValue(cleanedResponse,
-                    new TypeReference<Map<String, Object>>() {});
-
-            // Set basic fields
-            candidate.setTechnicalSkills((List<String>) skillsData.get("technical_skills"));
-            candidate.setSoftSkills((List<String>) skillsData.get("soft_skills"));
-            candidate.setExperienceLevel((String) skillsData.get("experience_level"));
-            candidate.setEducation((String) skillsData.get("education"));
-            
-            // Store additional data in a metadata map (you might want to add this to Candidate model)
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("certifications", skillsData.get("certifications"));
-            metadata.put("industries", skillsData.get("industries"));
-            metadata.put("programming_languages", skillsData.get("programming_languages"));
-            metadata.put("frameworks", skillsData.get("frameworks"));
-            metadata.put("tools", skillsData.get("tools"));
-            metadata.put("databases", skillsData.get("databases"));
-            metadata.put("cloud_platforms", skillsData.get("cloud_platforms"));
-            metadata.put("key_achievements", skillsData.get("key_achievements"));
-            metadata.put("summary", skillsData.get("summary"));
-            metadata.put("years_of_experience", skillsData.get("years_of_experience"));
-            
-            // You might want to add a metadata field to Candidate model
-            // candidate.setMetadata(metadata);
+            applyExtractedFields(candidate, objectMapper.readTree(cleanedResponse));
 
             logger.info("Successfully performed enhanced analysis for candidate: {}", candidate.getFileName());
 
+        } catch (BedrockThrottledException | RejectedExecutionException | ServiceDegradedException e) {
+            // Throttled, shed or behind an open breaker; a basic analysis would only add load
+            throw e;
         } catch (Exception e) {
             logger.error("Error in enhanced analysis for candidate: {}", candidate.getFileName(), e);
             // Fall back to basic analysis
-            analyzeSkills(candidate);
+            analyzeSkills(candidate, resumeText);
+        }
+    }
+    
+    /**
+     * One Bedrock call for every field, with local repair of malformed or
+     * truncated JSON instead of a second prompt. Fields that survive repair
+     * are kept; only a response with no recoverable object fails the upload.
+     */
+    private void analyzeSkillsStructured(Candidate candidate, String resumeText) {
+        // Most important fields first, so a truncated reply loses the least
+        String prompt = String.format("""
+            Extract structured data from the resume below.
+            Return ONLY one JSON object, no markdown and no other text, with these keys in this order:
+            {
+              "technical_skills": ["skill"],
+              "experience_level": "ENTRY" | "MID" | "SENIOR",
+              "years_of_experience": <integer>,
+              "education": "highest degree and field",
+              "soft_skills": ["skill"],
+              "programming_languages": ["language"],
+              "frameworks": ["framework or library"],
+              "databases": ["database"],
+              "cloud_platforms": ["platform"],
+              "tools": ["tool or software"],
+              "certifications": ["certification"],
+              "industries": ["industry"],
+              "key_achievements": ["2-3 short achievements"],
+              "summary": "2-3 sentence professional summary"
+            }
+            
+            Rules:
+            - Use [] or "" when the resume has nothing for a key; never omit a key
+            - At most 15 items per list, each a short name
+            - experience_level must be exactly ENTRY, MID or SENIOR
+            
+            Resume Text:
+            %s
+            """, resumeText);
+
+        String response = invokeForObject(ModelRouter.CallSite.ANALYSIS, prompt);
+
+        LenientJsonParser.Result parsed;
+        try {
+            parsed = lenientJsonParser.parseObject(response);
+        } catch (IOException e) {
+            // Don't let the cache serve the same unusable reply to the retry
+            bedrockService.invalidate(ModelRouter.CallSite.ANALYSIS, prompt);
+            throw new DocumentProcessingException("The AI analysis of '" + candidate.getFileName()
+                    + "' returned no usable data. Please try uploading it again.", e);
         }
+
+        applyExtractedFields(candidate, parsed.getNode());
+        if (parsed.isRepaired()) {
+            logger.warn("Repaired malformed AI analysis for candidate: {} (kept fields: {})",
+                    candidate.getFileName(), fieldNames(parsed.getNode()));
+        } else {
+            logger.info("Successfully performed structured analysis for candidate: {}", candidate.getFileName());
+        }
+    }
+    
+    /**
+     * Model response to a prompt that asks for one JSON object. With
+     * aws.bedrock.streaming.enabled the call is cut off once
+     * {@code requiredFields} are complete (or, with none given, once the
+     * object closes) and the object so far is returned; otherwise, or if the
+     * streamed text is not well-formed, the whole response.
+     */
+    private String invokeForObject(ModelRouter.CallSite site, String prompt, String... requiredFields) {
+        if (!bedrockService.isStreamingEnabled()) {
+            return bedrockService.invokeModel(site, prompt);
+        }
+        StreamingJsonObject object = new StreamingJsonObject(requiredFields);
+        String response;
+        try {
+            response = bedrockService.invokeModelStream(site, prompt, object::append, object::isComplete).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        String json = object.getJson();
+        return object.isComplete() && json != null ? json : response;
+    }
+    
+    /**
+     * Copy every extracted field onto the candidate, tolerating lists sent as
+     * comma-separated strings, years sent as text and free-form experience
+     * levels. Technical skills fall back to the union of the more specific
+     * lists when the model left them out.
+     */
+    private void applyExtractedFields(Candidate candidate, JsonNode data) {
+        List<String> languages = stringList(data.get("programming_languages"));
+        List<String> frameworks = stringList(data.get("frameworks"));
+        List<String> tools = stringList(data.get("tools"));
+        List<String> databases = stringList(data.get("databases"));
+        List<String> cloudPlatforms = stringList(data.get("cloud_platforms"));
+
+        List<String> technicalSkills = stringList(data.get("technical_skills"));
+        if (technicalSkills.isEmpty()) {
+            Set<String> union = new LinkedHashSet<>();
+            union.addAll(languages);
+            union.addAll(frameworks);
+            union.addAll(databases);
+            union.addAll(cloudPlatforms);
+            union.addAll(tools);
+            technicalSkills = new ArrayList<>(union);
+        }
+
+        Integer years = parseYears(data.get("years_of_experience"));
+        String education = textValue(data.get("education"));
+
+        candidate.setTechnicalSkills(technicalSkills);
+        candidate.setSoftSkills(stringList(data.get("soft_skills")));
+        candidate.setExperienceLevel(normalizeExperienceLevel(textValue(data.get("experience_level")), years));
+        candidate.setEducation(education != null ? education : "Not specified");
+        candidate.setYearsOfExperience(years);
+        candidate.setProgrammingLanguages(languages);
+        candidate.setFrameworks(frameworks);
+        candidate.setTools(tools);
+        candidate.setDatabases(databases);
+        candidate.setCloudPlatforms(cloudPlatforms);
+        candidate.setCertifications(stringList(data.get("certifications")));
+        candidate.setIndustries(stringList(data.get("industries")));
+        candidate.setKeyAchievements(stringList(data.get("key_achievements")));
+        candidate.setSummary(textValue(data.get("summary")));
+    }
+    
+    private static List<String> stringList(JsonNode node) {
+        Set<String> values = new LinkedHashSet<>();
+        if (node == null || node.isNull()) {
+            return new ArrayList<>();
+        }
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                String value = textValue(element);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        } else if (node.isValueNode()) {
+            for (String part : node.asText().split("[,;\\n]")) {
+                if (!part.isBlank()) {
+                    values.add(part.trim());
+                }
+            }
+        }
+        return new ArrayList<>(values);
+    }
+    
+    private static String textValue(JsonNode node) {
+        if (node == null || node.isNull() || node.isContainerNode()) {
+            return null;
+        }
+        String text = node.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+    
+    private static Integer parseYears(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            return (int) Math.round(node.asDouble());
+        }
+        Matcher matcher = YEARS_PATTERN.matcher(node.asText());
+        return matcher.find() ? (int) Math.round(Double.parseDouble(matcher.group())) : null;
+    }
+    
+    /**
+     * ENTRY, MID or SENIOR from whatever the model wrote, or from the years
+     * of experience when the level is missing or unrecognised.
+     */
+    private static String normalizeExperienceLevel(String level, Integer years) {
+        if (level != null) {
+            String upper = level.toUpperCase(Locale.ROOT);
+            if (upper.contains("SENIOR") || upper.contains("LEAD") || upper.contains("PRINCIPAL") || upper.contains("STAFF")) {
+                return "SENIOR";
+            }
+            if (upper.contains("MID") || upper.contains("INTERMEDIATE")) {
+                return "MID";
+            }
+            if (upper.contains("ENTRY") || upper.contains("JUNIOR") || upper.contains("GRADUATE") || upper.contains("INTERN")) {
+                return "ENTRY";
+            }
+        }
+        if (years == null) {
+            return null;
+        }
+        return years < 2 ? "ENTRY" : years < 6 ? "MID" : "SENIOR";
+    }
+    
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
     }
     
     private void setDefaultSkills(Candidate candidate) {
@@ -379,31 +824,706 @@ public class CandidateService {
     // ========================================
 
     public List<MatchResult> matchCandidates(String jobId) {
+        return matchCandidates(jobId, 0, 0).getMatches();
+    }
+
+    /**
+     * Rank candidates for a job and return one page of the ranking.
+     *
+     * @param offset number of leading matches to skip
+     * @param limit  page size; 0 or less returns every match
+     */
+    public MatchPage matchCandidates(String jobId, int offset, int limit) {
         JobRequirement job = jobRequirements.get(jobId);
         if (job == null) {
             throw new IllegalArgumentException("Job not found: " + jobId);
         }
 
-        List<MatchResult> matches = candidates.values().stream()
-                .map(candidate -> calculateMatch(candidate, job))
-                .filter(match -> match.getScore() > 0) // Filter out zero scores
-                .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
-                .collect(Collectors.toList());
+        Collection<MatchResult> scored;
+        Comparator<MatchResult> order = BY_SCORE_DESC;
+        if (matchingMode == MatchingMode.TWO_STAGE) {
+            scored = scoreTwoStage(getScoreTable(job).values(), job);
+            // One ranking by score; on a tie the AI-refined result goes first
+            order = BY_SCORE_DESC.thenComparing((MatchResult match) -> !match.isAiScored());
+        } else if (matchingMode == MatchingMode.AI) {
+            // Only candidates sharing a required skill are worth a Bedrock call
+            Set<String> overlapIds = skillIndex.findCandidatesWithAnySkill(requiredSkillVector(job));
+            List<MatchResult> aiScored = calculateMatchesWithAI(findCandidates(overlapIds), job);
+            aiScored.addAll(scoreCandidatesWithoutOverlap(job, overlapIds));
+            scored = aiScored;
+        } else {
+            // Precomputed ranking; no per-request scoring at all
+            scored = getScoreTable(job).values();
+        }
+
+        MatchPage page = selectPage(scored, order, offset, limit);
+        applyHeuristicJustifications(page.getMatches(), job);
         
-        logger.info("Found {} matches for job: {}", matches.size(), job.getTitle());
-        return matches;
+        logger.info("Found {} matches for job: {} (returning {} from offset {})",
+                page.getTotalMatches(), job.getTitle(), page.getMatches().size(), page.getOffset());
+        return page;
     }
 
-    private MatchResult calculateMatch(Candidate candidate, JobRequirement job) {
-        if (asyncProcessing) {
-            return calculateMatchWithAI(candidate, job);
-        } else {
-            return calculateMatchHeuristic(candidate, job);
+    /**
+     * Single pass over the scored pool: drops zero scores, feeds the statistics
+     * and keeps only offset + limit results in a bounded heap.
+     */
+    private MatchPage selectPage(Collection<MatchResult> scored, Comparator<MatchResult> order, int offset, int limit) {
+        int safeOffset = Math.max(0, offset);
+        int keep = limit > 0 ? (int) Math.min((long) safeOffset + limit, Integer.MAX_VALUE) : scored.size();
+        TopKSelector<MatchResult> selector = new TopKSelector<>(keep, order);
+        MatchStatistics statistics = new MatchStatistics();
+
+        for (MatchResult match : scored) {
+            if (match.getScore() > 0) { // Filter out zero scores
+                statistics.record(match.getScore());
+                selector.offer(match);
+            }
+        }
+
+        // Copy the page so callers never mutate shared score table entries
+        List<MatchResult> top = selector.result();
+        List<MatchResult> matches = new ArrayList<>();
+        for (int i = safeOffset; i < top.size(); i++) {
+            matches.add(copyOf(top.get(i)));
+        }
+        return new MatchPage(matches, (int) statistics.getCount(), safeOffset, Math.max(0, limit), statistics);
+    }
+
+    /**
+     * Take the heuristic ranking of the whole pool and send only the top K to
+     * Bedrock, so Bedrock calls stay O(K) per match. Refined results replace
+     * their heuristic counterparts and are flagged as AI-scored.
+     */
+    private List<MatchResult> scoreTwoStage(Collection<MatchResult> heuristic, JobRequirement job) {
+        TopKSelector<MatchResult> leaders = new TopKSelector<>(Math.max(twoStageTopK, 0), BY_SCORE_DESC);
+        for (MatchResult match : heuristic) {
+            if (match.getScore() > 0) {
+                leaders.offer(match);
+            }
+        }
+        List<Candidate> shortlist = leaders.result().stream()
+                .map(match -> candidates.get(match.getCandidateId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Map<String, MatchResult> refined = new HashMap<>();
+        for (MatchResult match : calculateMatchesWithAI(shortlist, job)) {
+            refined.put(match.getCandidateId(), match);
+        }
+
+        List<MatchResult> merged = new ArrayList<>(heuristic.size());
+        for (MatchResult match : heuristic) {
+            merged.add(refined.getOrDefault(match.getCandidateId(), match));
+        }
+
+        logger.info("Two-stage match for job {}: {} candidates scored, top {} refined by AI",
+                job.getTitle(), heuristic.size(), shortlist.size());
+        return merged;
+    }
+
+    private List<Candidate> findCandidates(Collection<String> candidateIds) {
+        List<Candidate> found = new ArrayList<>(candidateIds.size());
+        for (String candidateId : candidateIds) {
+            Candidate candidate = candidates.get(candidateId);
+            if (candidate != null) {
+                found.add(candidate);
+            }
+        }
+        return found;
+    }
+
+    private MatchResult copyOf(MatchResult match) {
+        MatchResult copy = new MatchResult(match.getCandidateId(), match.getCandidateName(), match.getScore());
+        copy.setJustification(match.getJustification());
+        copy.setAiScored(match.isAiScored());
+        return copy;
+    }
+
+    // ========================================
+    // STREAMED MATCHING
+    // ========================================
+
+    /**
+     * Stream the ranking for a job to a listener: all heuristic results first,
+     * best first, then AI-refined results as each Bedrock call completes, then
+     * the final statistics. Validates the job and returns; the stream itself
+     * runs on the match stream pool.
+     */
+    public void streamMatches(String jobId, MatchStreamListener listener) {
+        JobRequirement job = jobRequirements.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Job not found: " + jobId);
+        }
+
+        matchStreamExecutor.execute(() -> {
+            try {
+                runMatchStream(job, listener);
+            } catch (IOException e) {
+                logger.debug("Match stream for job {} closed by client: {}", job.getTitle(), e.getMessage());
+            } catch (Exception e) {
+                logger.error("Error streaming matches for job: {}", job.getTitle(), e);
+                listener.onError(e);
+            }
+        });
+    }
+
+    private void runMatchStream(JobRequirement job, MatchStreamListener listener) throws IOException {
+        long deadline = System.currentTimeMillis() + aiMatchDeadlineMs;
+
+        List<MatchResult> heuristic = new ArrayList<>();
+        for (MatchResult match : getScoreTable(job).values()) {
+            if (match.getScore() > 0) {
+                heuristic.add(copyOf(match));
+            }
+        }
+        heuristic.sort(BY_SCORE_DESC);
+        applyHeuristicJustifications(heuristic, job);
+
+        Map<String, MatchResult> latest = new HashMap<>();
+        for (MatchResult match : heuristic) {
+            latest.put(match.getCandidateId(), match);
+            listener.onMatch(match, false);
+        }
+
+        List<Candidate> shortlist = selectForRefinement(heuristic, job);
+        int refined = 0;
+        if (!shortlist.isEmpty()) {
+            // Completed calls and streamed justification text are handed to this thread in arrival order
+            BlockingQueue<MatchStreamEvent> events = new LinkedBlockingQueue<>();
+            List<CompletableFuture<MatchResult>> pending;
+            if (bedrockService.isStreamingEnabled() && !batchedAiMatching) {
+                pending = shortlist.stream()
+                        .map(candidate -> streamMatchWithAI(candidate, job, events))
+                        .collect(Collectors.toList());
+            } else {
+                pending = scoreAllWithAI(shortlist, job);
+            }
+            for (CompletableFuture<MatchResult> future : pending) {
+                future.whenComplete((result, error) -> events.add(MatchStreamEvent.completed(future)));
+            }
+
+            try {
+                int finished = 0;
+                while (finished < pending.size()) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    MatchStreamEvent event = remaining > 0
+                            ? events.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                    if (event == null) {
+                        break; // deadline passed; the heuristic frames already sent stand
+                    }
+                    if (event.done == null) {
+                        listener.onJustification(event.candidateId, event.text);
+                        continue;
+                    }
+                    finished++;
+                    CompletableFuture<MatchResult> done = event.done;
+                    if (done.isCompletedExceptionally()) {
+                        continue;
+                    }
+                    MatchResult result = done.join();
+                    // calculateMatchWithAI falls back to the heuristic on error; nothing new to send
+                    if (result.isAiScored()) {
+                        refined++;
+                        latest.put(result.getCandidateId(), result);
+                        listener.onMatch(result, true);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pending.forEach(future -> future.cancel(true));
+            }
+        }
+
+        MatchStatistics statistics = new MatchStatistics();
+        for (MatchResult match : latest.values()) {
+            if (match.getScore() > 0) {
+                statistics.record(match.getScore());
+            }
+        }
+        int fallbacks = shortlist.size() - refined;
+        listener.onComplete(statistics, refined, fallbacks);
+
+        logger.info("Streamed {} matches for job {}: {} AI-refined, {} kept heuristic scores",
+                statistics.getCount(), job.getTitle(), refined, fallbacks);
+    }
+
+    /**
+     * Candidates to re-score with Bedrock, in heuristic rank order so the
+     * likeliest leaders are refined first.
+     */
+    private List<Candidate> selectForRefinement(List<MatchResult> heuristicRanking, JobRequirement job) {
+        if (matchingMode == MatchingMode.HEURISTIC || !bedrockService.isAvailable()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> overlapIds = matchingMode == MatchingMode.AI
+                ? skillIndex.findCandidatesWithAnySkill(requiredSkillVector(job))
+                : null;
+        int limit = matchingMode == MatchingMode.TWO_STAGE ? Math.max(twoStageTopK, 0) : Integer.MAX_VALUE;
+
+        List<Candidate> shortlist = new ArrayList<>();
+        for (MatchResult match : heuristicRanking) {
+            if (shortlist.size() >= limit) {
+                break;
+            }
+            if (overlapIds != null && !overlapIds.contains(match.getCandidateId())) {
+                continue;
+            }
+            Candidate candidate = candidates.get(match.getCandidateId());
+            if (candidate != null) {
+                shortlist.add(candidate);
+            }
+        }
+        return shortlist;
+    }
+
+    // ========================================
+    // INCREMENTAL SCORE TABLES
+    // ========================================
+
+    /**
+     * Heuristic ranking for a job, rebuilt only if missing or built from an
+     * earlier revision of the job.
+     */
+    private JobScoreTable getScoreTable(JobRequirement job) {
+        JobScoreTable table = scoreTables.get(job.getId());
+        if (table != null && !table.isStaleFor(job.getRevision())) {
+            return table;
+        }
+
+        synchronized (scoreTables) {
+            table = scoreTables.get(job.getId());
+            if (table == null || table.isStaleFor(job.getRevision())) {
+                table = buildScoreTable(job);
+                scoreTables.put(job.getId(), table);
+            }
+            return table;
+        }
+    }
+
+    private JobScoreTable buildScoreTable(JobRequirement job) {
+        long start = System.nanoTime();
+        // Revision read first: an edit during the build leaves the table stale, not wrong
+        JobScoreTable table = new JobScoreTable(job.getId(), job.getRevision());
+
+        Set<String> overlapIds = skillIndex.findCandidatesWithAnySkill(requiredSkillVector(job));
+        for (Candidate candidate : findCandidates(overlapIds)) {
+            table.put(calculateMatchHeuristic(candidate, job));
+        }
+        scoreCandidatesWithoutOverlap(job, overlapIds).forEach(table::put);
+
+        logger.debug("Built score table for job {} with {} entries in {}us",
+                job.getTitle(), table.size(), (System.nanoTime() - start) / 1000);
+        return table;
+    }
+
+    private void addToScoreTables(Candidate candidate) {
+        synchronized (scoreTables) {
+            for (JobScoreTable table : scoreTables.values()) {
+                JobRequirement job = jobRequirements.get(table.getJobId());
+                if (job == null || table.isStaleFor(job.getRevision())) {
+                    continue;
+                }
+                boolean overlaps = SkillDictionary.countCommon(candidate.getSkillVector(), requiredSkillVector(job)) > 0;
+                if (overlaps || includeNoOverlap) {
+                    table.put(calculateMatchHeuristic(candidate, job));
+                }
+            }
+        }
+    }
+
+    private void removeFromScoreTables(String candidateId) {
+        synchronized (scoreTables) {
+            for (JobScoreTable table : scoreTables.values()) {
+                table.remove(candidateId);
+            }
+        }
+    }
+
+    // ========================================
+    // MATCH MATRIX (ALL JOBS x ALL CANDIDATES)
+    // ========================================
+
+    /**
+     * Heuristic score matrix of every job against every candidate plus the
+     * top N candidates per job. The cached matrix is reused until a candidate
+     * or job changes.
+     */
+    public MatchMatrix getMatchMatrix(int topN) {
+        int wanted = Math.max(1, topN);
+        MatchMatrix current = matchMatrix;
+        if (isMatrixCurrent(current, wanted)) {
+            return current;
+        }
+        synchronized (this) {
+            current = matchMatrix;
+            if (!isMatrixCurrent(current, wanted)) {
+                current = computeMatchMatrix(wanted);
+                matchMatrix = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isMatrixCurrent(MatchMatrix matrix, int topN) {
+        return matrix != null && matrix.getVersion() == matrixVersion() && matrix.getTopN() == topN;
+    }
+
+    /**
+     * Changes whenever a candidate is added or removed or any job is edited:
+     * every term only ever grows.
+     */
+    private long matrixVersion() {
+        long version = dataVersion.get();
+        for (JobRequirement job : jobRequirements.values()) {
+            version += job.getRevision();
         }
+        return version;
+    }
+
+    private MatchMatrix computeMatchMatrix(int topN) {
+        long start = System.nanoTime();
+        long version = matrixVersion();
+        List<JobRequirement> jobs = new ArrayList<>(jobRequirements.values());
+        List<Candidate> pool = new ArrayList<>(candidates.values());
+        int candidateCount = pool.size();
+
+        // Resolve job vectors up front so the parallel pass is read-only
+        long[][] jobVectors = new long[jobs.size()][];
+        for (int i = 0; i < jobs.size(); i++) {
+            jobVectors[i] = requiredSkillVector(jobs.get(i));
+        }
+
+        // One fork-join pass over every (job, candidate) cell
+        float[][] scores = new float[jobs.size()][candidateCount];
+        IntStream.range(0, jobs.size() * candidateCount).parallel().forEach(cell -> {
+            int i = cell / candidateCount;
+            int j = cell % candidateCount;
+            Candidate candidate = pool.get(j);
+            int matched = SkillDictionary.countCommon(candidate.getSkillVector(), jobVectors[i]);
+            scores[i][j] = (float) calculateHeuristicScore(candidate, jobs.get(i), matched);
+        });
+
+        // Top N per job, also in parallel across jobs
+        Map<String, List<MatchResult>> topMatches = new ConcurrentHashMap<>();
+        IntStream.range(0, jobs.size()).parallel().forEach(i -> {
+            float[] row = scores[i];
+            TopKSelector<Integer> selector = new TopKSelector<>(topN, (a, b) -> Float.compare(row[b], row[a]));
+            for (int j = 0; j < candidateCount; j++) {
+                if (row[j] > 0) {
+                    selector.offer(j);
+                }
+            }
+            List<MatchResult> top = new ArrayList<>();
+            for (int j : selector.result()) {
+                Candidate candidate = pool.get(j);
+                MatchResult match = new MatchResult(candidate.getId(), candidate.getFileName(), row[j]);
+                match.setJustification(buildHeuristicJustification(candidate, jobs.get(i)));
+                top.add(match);
+            }
+            topMatches.put(jobs.get(i).getId(), top);
+        });
+
+        List<String> jobIds = jobs.stream().map(JobRequirement::getId).collect(Collectors.toList());
+        List<String> candidateIds = pool.stream().map(Candidate::getId).collect(Collectors.toList());
+
+        logger.info("Computed {}x{} match matrix in {}ms",
+                jobs.size(), candidateCount, (System.nanoTime() - start) / 1_000_000);
+        return new MatchMatrix(jobIds, candidateIds, scores, topMatches, topN, version);
+    }
+
+    /**
+     * Best-fitting jobs for one candidate, read from the match matrix column.
+     */
+    public List<Map<String, Object>> findBestJobsForCandidate(String candidateId, int limit) {
+        if (!candidates.containsKey(candidateId)) {
+            throw new IllegalArgumentException("Candidate not found: " + candidateId);
+        }
+
+        MatchMatrix cached = matchMatrix;
+        MatchMatrix matrix = getMatchMatrix(cached != null ? cached.getTopN() : DEFAULT_MATRIX_TOP_N);
+        int column = matrix.indexOfCandidate(candidateId);
+        List<Map<String, Object>> bestJobs = new ArrayList<>();
+        if (column < 0) {
+            return bestJobs;
+        }
+
+        float[][] scores = matrix.getScores();
+        TopKSelector<Integer> selector = new TopKSelector<>(Math.max(1, limit),
+                (a, b) -> Float.compare(scores[b][column], scores[a][column]));
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i][column] > 0) {
+                selector.offer(i);
+            }
+        }
+
+        for (int i : selector.result()) {
+            JobRequirement job = jobRequirements.get(matrix.getJobIds().get(i));
+            if (job == null) {
+                continue;
+            }
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("jobId", job.getId());
+            entry.put("jobTitle", job.getTitle());
+            entry.put("jobLevel", job.getExperienceLevel());
+            entry.put("score", Math.round(scores[i][column] * 100) / 100.0);
+            bestJobs.add(entry);
+        }
+        return bestJobs;
+    }
+
+    /**
+     * Score candidates with Bedrock in parallel, bounded by the AI match pool
+     * size and the per-request deadline. Calls that have not finished when the
+     * deadline passes are cancelled and replaced with the heuristic score, so
+     * latency tracks the slowest call rather than the sum of all calls.
+     */
+    private List<MatchResult> calculateMatchesWithAI(List<Candidate> pool, JobRequirement job) {
+        if (!bedrockService.isAvailable()) {
+            logger.warn("Bedrock circuit breaker open; scoring {} candidates for job {} with the heuristic",
+                    pool.size(), job.getTitle());
+            return pool.stream()
+                    .map(candidate -> calculateMatchHeuristic(candidate, job))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        List<CompletableFuture<MatchResult>> futures = scoreAllWithAI(pool, job);
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(aiMatchDeadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Unfinished or failed calls are handled one by one below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("AI matching interrupted for job: {}, using heuristic scores", job.getTitle());
+        }
+
+        List<MatchResult> results = new ArrayList<>(pool.size());
+        int fallbacks = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<MatchResult> future = futures.get(i);
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                results.add(future.join());
+                continue;
+            }
+            future.cancel(true);
+            fallbacks++;
+            results.add(calculateMatchHeuristic(pool.get(i), job));
+        }
+
+        if (fallbacks > 0) {
+            logger.warn("AI matching for job {} used heuristic fallback for {}/{} candidates (deadline {}ms)",
+                    job.getTitle(), fallbacks, pool.size(), aiMatchDeadlineMs);
+        }
+        return results;
     }
     
     private MatchResult calculateMatchWithAI(Candidate candidate, JobRequirement job) {
-    	String prompt = String.format("""
+        String prompt = buildMatchPrompt(candidate, job);
+
+        try {
+            String response = bedrockService.invokeModel(ModelRouter.CallSite.MATCHING, prompt);
+            return parseMatchResponse(response, candidate, job);
+
+        } catch (ServiceDegradedException e) {
+            // Breaker opened mid-request; no need for a stack trace per candidate
+            return calculateMatchHeuristic(candidate, job);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Cancelled at the match deadline; the caller has already fallen back
+                return calculateMatchHeuristic(candidate, job);
+            }
+            logger.error("Error calculating AI match score, falling back to heuristic", e);
+            return calculateMatchHeuristic(candidate, job);
+        }
+    }
+    
+    /**
+     * Non-blocking counterpart of {@link #calculateMatchWithAI}: composes on
+     * the async Bedrock client, so no thread waits while the model runs.
+     * Cancelling the result withdraws the Bedrock call too.
+     */
+    private CompletableFuture<MatchResult> calculateMatchWithAIAsync(Candidate candidate, JobRequirement job) {
+        CompletableFuture<String> response =
+                bedrockService.invokeModelAsync(ModelRouter.CallSite.MATCHING, buildMatchPrompt(candidate, job));
+        return cancelling(response, response
+                .thenApply(text -> parseMatchResponse(text, candidate, job))
+                .exceptionally(e -> {
+                    logger.error("Error calculating AI match score, falling back to heuristic", e);
+                    return calculateMatchHeuristic(candidate, job);
+                }));
+    }
+    
+    /**
+     * {@code dependent}, made to cancel {@code source} when it is cancelled;
+     * futures built with thenApply and the like do not pass cancellation back.
+     */
+    private static <T> CompletableFuture<T> cancelling(CompletableFuture<?> source, CompletableFuture<T> dependent) {
+        dependent.whenComplete((value, error) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+    
+    /**
+     * Streaming counterpart of {@link #calculateMatchWithAIAsync}: the
+     * justification is queued for the match stream piece by piece as the
+     * model writes it, ahead of the final scored result. Cancelling the
+     * result cancels the stream.
+     */
+    private CompletableFuture<MatchResult> streamMatchWithAI(Candidate candidate, JobRequirement job,
+                                                             BlockingQueue<MatchStreamEvent> events) {
+        StreamingJsonObject object = new StreamingJsonObject("score", "justification")
+                .watch("justification", text -> events.add(MatchStreamEvent.justification(candidate.getId(), text)));
+        String prompt = buildMatchPrompt(candidate, job);
+        CompletableFuture<String> stream = bedrockService.invokeModelStream(ModelRouter.CallSite.MATCHING, prompt,
+                object::append, object::isComplete);
+        return cancelling(stream, stream
+                .thenApply(response -> {
+                    String json = object.getJson();
+                    return parseMatchResponse(object.isComplete() && json != null ? json : response, candidate, job);
+                })
+                .exceptionally(e -> {
+                    logger.error("Error calculating AI match score, falling back to heuristic", e);
+                    return calculateMatchHeuristic(candidate, job);
+                }));
+    }
+    
+    /**
+     * AI score for one candidate, on the async client or the AI match pool
+     * depending on candidate.matching.ai.async.
+     */
+    private CompletableFuture<MatchResult> scoreWithAI(Candidate candidate, JobRequirement job) {
+        if (asyncAiMatching) {
+            return calculateMatchWithAIAsync(candidate, job);
+        }
+        return submitToAiMatchPool(() -> calculateMatchWithAI(candidate, job));
+    }
+    
+    /**
+     * Run a blocking Bedrock task on the AI match pool. Unlike supplyAsync,
+     * cancelling the returned future cancels the task itself: a queued task
+     * never starts and a running one is interrupted. BedrockService stops a
+     * blocking call (hedged or not) on interrupt, and callers sharing that
+     * call through single-flight run it again instead of failing with it.
+     */
+    private <T> CompletableFuture<T> submitToAiMatchPool(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> submitted = aiMatchExecutor.submit(() -> {
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                submitted.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * AI scores for a pool, one future per candidate in pool order. With
+     * candidate.matching.ai.batch.enabled the pool is packed into
+     * multi-candidate prompts; otherwise each candidate gets its own call.
+     */
+    private List<CompletableFuture<MatchResult>> scoreAllWithAI(List<Candidate> pool, JobRequirement job) {
+        if (!batchedAiMatching || pool.size() < 2) {
+            return pool.stream()
+                    .map(candidate -> scoreWithAI(candidate, job))
+                    .collect(Collectors.toList());
+        }
+
+        List<List<Candidate>> batches = packMatchBatches(pool, job);
+        logger.debug("Scoring {} candidates for job {} in {} batched prompts", pool.size(), job.getTitle(), batches.size());
+        List<CompletableFuture<MatchResult>> futures = new ArrayList<>(pool.size());
+        for (List<Candidate> batch : batches) {
+            futures.addAll(scoreBatchWithAI(batch, job));
+        }
+        return futures;
+    }
+    
+    /**
+     * Split the pool into consecutive batches that fit the input token
+     * budget, the per-batch candidate cap and the model's output limit.
+     */
+    private List<List<Candidate>> packMatchBatches(List<Candidate> pool, JobRequirement job) {
+        int headerTokens = estimateTokens(buildBatchMatchPrompt(Collections.emptyList(), job));
+        int maxByOutput = bedrockService.getMaxTokens(ModelRouter.CallSite.MATCHING) / Math.max(1, batchOutputTokensPerCandidate);
+        int maxSize = Math.max(1, Math.min(batchMaxCandidates, maxByOutput));
+
+        List<List<Candidate>> batches = new ArrayList<>();
+        List<Candidate> current = new ArrayList<>();
+        int tokens = headerTokens;
+        for (Candidate candidate : pool) {
+            int profileTokens = estimateTokens(compactProfile(candidate, current.size() + 1));
+            if (!current.isEmpty() && (current.size() >= maxSize || tokens + profileTokens > batchTokenBudget)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                tokens = headerTokens;
+                profileTokens = estimateTokens(compactProfile(candidate, 1));
+            }
+            current.add(candidate);
+            tokens += profileTokens;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+    
+    /**
+     * One Bedrock call for the whole batch. Candidates the response leaves
+     * out or scores malformed are retried with their own prompt; if Bedrock
+     * is unavailable or throttling, the batch keeps heuristic scores.
+     */
+    private List<CompletableFuture<MatchResult>> scoreBatchWithAI(List<Candidate> batch, JobRequirement job) {
+        String prompt = buildBatchMatchPrompt(batch, job);
+        CompletableFuture<String> response = asyncAiMatching
+                ? bedrockService.invokeModelAsync(ModelRouter.CallSite.MATCHING, prompt)
+                : submitToAiMatchPool(() -> bedrockService.invokeModel(ModelRouter.CallSite.MATCHING, prompt));
+
+        CompletableFuture<Map<Integer, MatchResult>> scores = response.handle((text, error) -> {
+            if (error == null) {
+                return parseBatchMatchResponse(text, batch, job);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            Map<Integer, MatchResult> fallback = new HashMap<>();
+            if (cause instanceof ServiceDegradedException || cause instanceof BedrockThrottledException) {
+                // Individual retries would meet the same breaker or quota
+                for (int i = 0; i < batch.size(); i++) {
+                    fallback.put(i + 1, calculateMatchHeuristic(batch.get(i), job));
+                }
+            } else {
+                logger.error("Batched AI match call failed for job {}, retrying {} candidates individually",
+                        job.getTitle(), batch.size(), cause);
+            }
+            return fallback;
+        });
+
+        List<CompletableFuture<MatchResult>> futures = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Candidate candidate = batch.get(i);
+            int ref = i + 1;
+            futures.add(scores.thenCompose(scored -> {
+                MatchResult result = scored.get(ref);
+                return result != null ? CompletableFuture.completedFuture(result) : scoreWithAI(candidate, job);
+            }));
+        }
+        // The deadline cancels the candidates' futures; pass that on to the batch call
+        futures.replaceAll(future -> cancelling(response, future));
+        return futures;
+    }
+    
+    private String buildMatchPrompt(Candidate candidate, JobRequirement job) {
+    	return String.format("""
     		    Rate this candidate for the job on a scale of 0-100 and provide a specific justification.
     		    
     		    Job Title: %s
@@ -453,10 +1573,128 @@ public class CandidateService {
                 candidate.getExperienceLevel(),
                 candidate.getEducation()
         );
+    }
+    
+    /**
+     * Job and rubric once, then one compact line per candidate. Candidates
+     * are referred to as C1..Cn so the model never has to echo UUIDs.
+     */
+    private String buildBatchMatchPrompt(List<Candidate> batch, JobRequirement job) {
+        StringBuilder profiles = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            profiles.append(compactProfile(batch.get(i), i + 1)).append('\n');
+        }
+        return String.format("""
+            Rate each candidate below for the job on a scale of 0-100 and give each a specific justification.
+            
+            Job Title: %s
+            Job Description: %s
+            Required Skills: %s
+            Required Experience: %s
+            
+            Weights: technical skills match 40%%, experience level fit 30%%, education relevance 20%%, overall fit 10%%.
+            
+            Candidates (ID | skills | experience level | education):
+            %s
+            Return ONLY a JSON array with exactly one object per candidate:
+            [
+                {"candidateId": "C1", "score": <number between 0 and 100>, "justification": "<one specific sentence>"}
+            ]
+            
+            Each justification MUST name the required skills the candidate has and lacks, and whether the
+            experience level fits, e.g. "Has Java, Spring Boot and PostgreSQL but lacks Kubernetes and Kafka;
+            mid-level experience is below the senior requirement."
+            Do not use vague phrases such as "Good match with relevant skills".
+            """,
+                job.getTitle(),
+                job.getDescription(),
+                String.join(", ", job.getRequiredSkills()),
+                job.getExperienceLevel(),
+                profiles
+        );
+    }
+    
+    private String compactProfile(Candidate candidate, int ref) {
+        String skills = candidate.getTechnicalSkills() != null && !candidate.getTechnicalSkills().isEmpty()
+                ? String.join(", ", candidate.getTechnicalSkills()) : "None";
+        return "C" + ref + " | " + oneLine(skills) + " | " + oneLine(candidate.getExperienceLevel())
+                + " | " + oneLine(candidate.getEducation());
+    }
+    
+    private static String oneLine(String value) {
+        return value == null ? "Not specified" : value.replace('\n', ' ').replace('\r', ' ').replace('|', '/').trim();
+    }
+    
+    private static int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+    
+    /**
+     * Well-formed entries of a batched response, keyed by candidate
+     * reference (1 for C1). Entries with an unknown reference, a missing or
+     * non-numeric score or an empty justification are left out, as is every
+     * entry if the array cannot be parsed at all.
+     */
+    private Map<Integer, MatchResult> parseBatchMatchResponse(String response, List<Candidate> batch, JobRequirement job) {
+        Map<Integer, MatchResult> results = new HashMap<>();
+        List<Map<String, Object>> entries;
+        try {
+            int start = response.indexOf('[');
+            int end = response.lastIndexOf(']');
+            if (start == -1 || end <= start) {
+                throw new IOException("No JSON array in response");
+            }
+            entries = objectMapper.readValue(response.substring(start, end + 1),
+                    new TypeReference<List<Map<String, Object>>>() {});
+        } catch (Exception e) {
+            logger.warn("Unparseable batched AI match response for job {}, retrying {} candidates individually: {}",
+                    job.getTitle(), batch.size(), e.getMessage());
+            return results;
+        }
+
+        for (Map<String, Object> entry : entries) {
+            if (entry == null) {
+                continue;
+            }
+            int ref = parseCandidateRef(entry.get("candidateId"));
+            Object score = entry.get("score");
+            Object justification = entry.get("justification");
+            if (ref < 1 || ref > batch.size() || results.containsKey(ref)
+                    || !(score instanceof Number) || justification == null || justification.toString().isBlank()) {
+                continue;
+            }
+            Candidate candidate = batch.get(ref - 1);
+            MatchResult result = new MatchResult(candidate.getId(), candidate.getFileName(),
+                    Math.max(0, Math.min(100, ((Number) score).doubleValue())));
+            result.setJustification(justification.toString());
+            result.setAiScored(true);
+            results.put(ref, result);
+        }
 
+        if (results.size() < batch.size()) {
+            logger.info("Batched AI match response for job {} covered {}/{} candidates; retrying the rest individually",
+                    job.getTitle(), results.size(), batch.size());
+        }
+        return results;
+    }
+    
+    private static int parseCandidateRef(Object value) {
+        if (value == null) {
+            return -1;
+        }
+        String ref = value.toString().trim();
+        if (ref.startsWith("C") || ref.startsWith("c")) {
+            ref = ref.substring(1);
+        }
+        try {
+            return Integer.parseInt(ref);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private MatchResult parseMatchResponse(String response, Candidate candidate, JobRequirement job) {
         try {
-            String response = bedrockService.invokeModel(prompt);
-            
             // Extract JSON from response
             String cleanedResponse = extractJsonFromResponse(response);
             Map<String, Object> resultData = objectMapper.readValue(cleanedResponse,
@@ -472,6 +1710,7 @@ public class CandidateService {
             MatchResult result = new MatchResult(candidate.getId(),
                     candidate.getFileName(), score);
             result.setJustification(justification);
+            result.setAiScored(true);
 
             logger.debug("AI calculated match score {} with justification: {} for candidate {} and job {}", 
                     score, justification, candidate.getFileName(), job.getTitle());
@@ -484,42 +1723,54 @@ public class CandidateService {
         }
     }
     
+    /**
+     * Heuristic scores for candidates outside the skill index hits. They match
+     * no required skill, so the skill vectors are not even compared.
+     */
+    private List<MatchResult> scoreCandidatesWithoutOverlap(JobRequirement job, Set<String> overlapIds) {
+        if (!includeNoOverlap) {
+            return new ArrayList<>();
+        }
+        return candidates.values().stream()
+                .filter(candidate -> !overlapIds.contains(candidate.getId()))
+                .map(candidate -> new MatchResult(candidate.getId(), candidate.getFileName(),
+                        calculateHeuristicScore(candidate, job, 0)))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Heuristic score only; the justification is attached later by
+     * {@link #applyHeuristicJustifications} for results that are returned.
+     */
     private MatchResult calculateMatchHeuristic(Candidate candidate, JobRequirement job) {
+        int matchedSkills = SkillDictionary.countCommon(candidate.getSkillVector(), requiredSkillVector(job));
+        double score = calculateHeuristicScore(candidate, job, matchedSkills);
+        
+        logger.debug("Heuristic calculated match score {} for candidate {} and job {}", 
+                score, candidate.getFileName(), job.getTitle());
+        
+        return new MatchResult(candidate.getId(), candidate.getFileName(), score);
+    }
+    
+    /**
+     * Allocation-free heuristic: experience (30) + skill overlap (40) + education (20) + soft skills (10).
+     */
+    private double calculateHeuristicScore(Candidate candidate, JobRequirement job, int matchedSkills) {
         double score = 0.0;
-        List<String> matchedSkills = new ArrayList<>();
-        List<String> missingSkills = new ArrayList<>();
-        String experienceNote = "";
         
         // Experience level match (30 points)
         if (candidate.getExperienceLevel() != null && job.getExperienceLevel() != null) {
             if (candidate.getExperienceLevel().equals(job.getExperienceLevel())) {
                 score += 30;
-                experienceNote = candidate.getExperienceLevel() + " experience matches requirement";
             } else if (isExperienceLevelCompatible(candidate.getExperienceLevel(), job.getExperienceLevel())) {
                 score += 15;
-                experienceNote = candidate.getExperienceLevel() + " experience partially fits " + job.getExperienceLevel() + " requirement";
-            } else {
-                experienceNote = candidate.getExperienceLevel() + " experience insufficient for " + job.getExperienceLevel() + " role";
             }
         }
         
         // Technical skills match (40 points)
-        if (candidate.getTechnicalSkills() != null && job.getRequiredSkills() != null) {
-            Set<String> candidateSkills = candidate.getTechnicalSkills().stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
-            
-            for (String requiredSkill : job.getRequiredSkills()) {
-                if (candidateSkills.contains(requiredSkill.toLowerCase())) {
-                    matchedSkills.add(requiredSkill);
-                } else {
-                    missingSkills.add(requiredSkill);
-                }
-            }
-            
-            double skillMatchPercentage = job.getRequiredSkills().isEmpty() ? 0 : 
-                (double) matchedSkills.size() / job.getRequiredSkills().size();
-            score += skillMatchPercentage * 40;
+        if (candidate.getTechnicalSkills() != null && job.getRequiredSkills() != null
+                && !job.getRequiredSkills().isEmpty()) {
+            score += (double) matchedSkills / job.getRequiredSkills().size() * 40;
         }
         
         // Education match (20 points)
@@ -533,10 +1784,48 @@ public class CandidateService {
         }
         
         // Ensure score is between 0 and 100
-        score = Math.min(100, Math.max(0, score));
+        return Math.min(100, Math.max(0, score));
+    }
+    
+    /**
+     * Fill in heuristic justifications for results that don't have one yet
+     * (AI results already carry their own).
+     */
+    private void applyHeuristicJustifications(List<MatchResult> results, JobRequirement job) {
+        for (MatchResult result : results) {
+            if (result.getJustification() == null) {
+                Candidate candidate = candidates.get(result.getCandidateId());
+                if (candidate != null) {
+                    result.setJustification(buildHeuristicJustification(candidate, job));
+                }
+            }
+        }
+    }
+    
+    private String buildHeuristicJustification(Candidate candidate, JobRequirement job) {
+        List<String> matchedSkills = new ArrayList<>();
+        List<String> missingSkills = new ArrayList<>();
+        String experienceNote = "";
         
-        MatchResult result = new MatchResult(candidate.getId(),
-                candidate.getFileName(), score);
+        if (candidate.getExperienceLevel() != null && job.getExperienceLevel() != null) {
+            if (candidate.getExperienceLevel().equals(job.getExperienceLevel())) {
+                experienceNote = candidate.getExperienceLevel() + " experience matches requirement";
+            } else if (isExperienceLevelCompatible(candidate.getExperienceLevel(), job.getExperienceLevel())) {
+                experienceNote = candidate.getExperienceLevel() + " experience partially fits " + job.getExperienceLevel() + " requirement";
+            } else {
+                experienceNote = candidate.getExperienceLevel() + " experience insufficient for " + job.getExperienceLevel() + " role";
+            }
+        }
+        
+        if (candidate.getTechnicalSkills() != null && job.getRequiredSkills() != null) {
+            for (String requiredSkill : job.getRequiredSkills()) {
+                if (SkillDictionary.contains(candidate.getSkillVector(), skillDictionary.lookup(requiredSkill))) {
+                    matchedSkills.add(requiredSkill);
+                } else {
+                    missingSkills.add(requiredSkill);
+                }
+            }
+        }
         
         // Build specific justification
         StringBuilder justification = new StringBuilder();
@@ -569,13 +1858,16 @@ public class CandidateService {
         }
         
         justification.append(".");
-        
-        result.setJustification(justification.toString());
-        
-        logger.debug("Heuristic calculated match score {} for candidate {} and job {}", 
-                score, candidate.getFileName(), job.getTitle());
-        
-        return result;
+        return justification.toString();
+    }
+    
+    private long[] requiredSkillVector(JobRequirement job) {
+        long[] vector = job.getRequiredSkillVector();
+        if (vector == null) {
+            vector = skillDictionary.encode(job.getRequiredSkills());
+            job.setRequiredSkillVector(vector);
+        }
+        return vector;
     }
     
     private boolean isExperienceLevelCompatible(String candidateLevel, String jobLevel) {
@@ -604,6 +1896,10 @@ public class CandidateService {
         return new ArrayList<>(candidates.values());
     }
     
+    public int getCandidateCount() {
+        return candidates.size();
+    }
+    
     public Candidate getCandidateById(String candidateId) {
         return candidates.get(candidateId);
     }
@@ -627,41 +1923,71 @@ public class CandidateService {
     }
     
     private void updateProcessingStatus(String trackingId, String status, int progress) {
+        if (trackingId == null) {
+            return;
+        }
         ProcessingStatus processingStatus = processingStatusMap.get(trackingId);
         if (processingStatus != null) {
-            processingStatus.setStatus(status);
             processingStatus.setProgress(progress);
             processingStatus.setLastUpdated(LocalDateTime.now());
+            processingStatus.setStatus(status);
         }
     }
     
     private void completeProcessing(String trackingId, String candidateId) {
+        if (trackingId == null) {
+            return;
+        }
         ProcessingStatus processingStatus = processingStatusMap.get(trackingId);
         if (processingStatus != null) {
-            processingStatus.setStatus("completed");
             processingStatus.setProgress(100);
             processingStatus.setCandidateId(candidateId);
             processingStatus.setCompletedAt(LocalDateTime.now());
+            processingStatus.setStatus("completed");
         }
     }
     
     private void failProcessing(String trackingId, String error) {
+        failProcessing(trackingId, error, "failed");
+    }
+    
+    /**
+     * @param status "failed", or "degraded" when a circuit breaker refused the work
+     */
+    private void failProcessing(String trackingId, String error, String status) {
+        if (trackingId == null) {
+            return;
+        }
         ProcessingStatus processingStatus = processingStatusMap.get(trackingId);
         if (processingStatus != null) {
-            processingStatus.setStatus("failed");
             processingStatus.setError(error);
             processingStatus.setCompletedAt(LocalDateTime.now());
+            processingStatus.setStatus(status);
         }
     }
     
     public void cleanupProcessingStatus(String trackingId) {
         processingStatusMap.remove(trackingId);
     }
+    
+    /**
+     * Drop finished statuses nobody polled for; called on each submission.
+     */
+    private void purgeFinishedStatuses() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(statusRetentionMinutes);
+        processingStatusMap.values().removeIf(status ->
+                status.getCompletedAt() != null && status.getCompletedAt().isBefore(cutoff));
+    }
 
     // ========================================
     // INITIALIZATION
     // ========================================
 
+    private void registerJob(JobRequirement job) {
+        job.setRequiredSkillVector(skillDictionary.encode(job.getRequiredSkills()));
+        jobRequirements.put(job.getId(), job);
+    }
+    
     private void initializeSampleJobs() {
         // Job 1 - Matches Aarav Sharma (Junior Software Developer)
         JobRequirement job1 = new JobRequirement();
@@ -670,7 +1996,7 @@ public class CandidateService {
         job1.setDescription("Seeking a passionate Junior Software Developer with 2+ years of experience in React and JavaScript. Must have hands-on experience with Node.js, MongoDB, and Express.js.");
         job1.setRequiredSkills(Arrays.asList("React", "JavaScript", "Node.js", "MongoDB", "Express.js", "HTML5", "CSS3", "Bootstrap", "Git", "JWT", "REST APIs"));
         job1.setExperienceLevel("ENTRY");
-        jobRequirements.put(job1.getId(), job1);
+        registerJob(job1);
         
         // Job 2 - Matches Anjali Patel (Data Analyst)
         JobRequirement job2 = new JobRequirement();
@@ -679,7 +2005,7 @@ public class CandidateService {
         job2.setDescription("Looking for an experienced Data Analyst with strong skills in Python, SQL, and data visualization. Experience with machine learning and statistical modeling is highly valued.");
         job2.setRequiredSkills(Arrays.asList("Python", "R", "SQL", "Tableau", "Power BI", "Pandas", "NumPy", "Scikit-learn", "TensorFlow", "AWS", "Machine Learning"));
         job2.setExperienceLevel("MID");
-        jobRequirements.put(job2.getId(), job2);
+        registerJob(job2);
         
         // Job 3 - Matches Arjun Singh (Senior Full Stack Developer)
         JobRequirement job3 = new JobRequirement();
@@ -688,7 +2014,7 @@ public class CandidateService {
         job3.setDescription("We need a Senior Full Stack Developer with expertise in React, Node.js, and cloud technologies. Experience with microservices architecture and TypeScript is essential.");
         job3.setRequiredSkills(Arrays.asList("React", "Node.js", "TypeScript", "MongoDB", "PostgreSQL", "Docker", "Kubernetes", "AWS", "Microservices", "Python"));
         job3.setExperienceLevel("SENIOR");
-        jobRequirements.put(job3.getId(), job3);
+        registerJob(job3);
         
         // Job 4 - Matches Deepika Reddy (Java Developer)
         JobRequirement job4 = new JobRequirement();
@@ -697,7 +2023,7 @@ public class CandidateService {
         job4.setDescription("Seeking experienced Java Developer with Spring Boot expertise for enterprise applications. Must have strong microservices and database knowledge.");
         job4.setRequiredSkills(Arrays.asList("Java", "Spring Boot", "Spring MVC", "Hibernate", "PostgreSQL", "MySQL", "Docker", "Kafka", "Microservices", "REST API"));
         job4.setExperienceLevel("MID");
-        jobRequirements.put(job4.getId(), job4);
+        registerJob(job4);
         
         // Job 5 - Matches Karan Singh (DevOps Engineer)
         JobRequirement job5 = new JobRequirement();
@@ -706,7 +2032,7 @@ public class CandidateService {
         job5.setDescription("Looking for a skilled DevOps Engineer to manage our AWS infrastructure and CI/CD pipelines. Experience with Kubernetes and Infrastructure as Code is required.");
         job5.setRequiredSkills(Arrays.asList("AWS", "Docker", "Kubernetes", "Jenkins", "Terraform", "Ansible", "Prometheus", "Grafana", "CI/CD", "Linux"));
         job5.setExperienceLevel("MID");
-        jobRequirements.put(job5.getId(), job5);
+        registerJob(job5);
         
         // Job 6 - Matches Kavya Nair (Full Stack Developer)
         JobRequirement job6 = new JobRequirement();
@@ -715,7 +2041,7 @@ public class CandidateService {
         job6.setDescription("Join our team as a Full Stack Developer working with React and Django/Python. Experience with multiple databases and cloud deployment required.");
         job6.setRequiredSkills(Arrays.asList("React", "Vue.js", "Node.js", "Python", "Django", "PostgreSQL", "MySQL", "MongoDB", "TypeScript", "AWS"));
         job6.setExperienceLevel("MID");
-        jobRequirements.put(job6.getId(), job6);
+        registerJob(job6);
         
         // Job 7 - Matches Mei Chen (Marketing Analyst)
         JobRequirement job7 = new JobRequirement();
@@ -724,7 +2050,7 @@ public class CandidateService {
         job7.setDescription("Seeking a data-driven Marketing Analyst to analyze cross-cultural campaigns and customer insights across Asia-Pacific markets.");
         job7.setRequiredSkills(Arrays.asList("Data Analytics", "SQL", "Python", "Tableau", "Power BI", "Google Analytics", "A/B Testing", "Marketing Analytics"));
         job7.setExperienceLevel("MID");
-        jobRequirements.put(job7.getId(), job7);
+        registerJob(job7);
         
         // Job 8 - Matches Priya Sharma (Sales & Marketing Professional)
         JobRequirement job8 = new JobRequirement();
@@ -733,7 +2059,7 @@ public class CandidateService {
         job8.setDescription("Lead our digital marketing initiatives across India. Need expertise in B2B sales, CRM management, and multi-channel campaign strategy.");
         job8.setRequiredSkills(Arrays.asList("Digital Marketing", "CRM Management", "Lead Generation", "Google Ads", "HubSpot", "Campaign Strategy", "B2B Sales"));
         job8.setExperienceLevel("SENIOR");
-        jobRequirements.put(job8.getId(), job8);
+        registerJob(job8);
         
         // Job 9 - Matches Rajesh Kumar (Demand Planning Specialist)
         JobRequirement job9 = new JobRequirement();
@@ -742,7 +2068,7 @@ public class CandidateService {
         job9.setDescription("Strategic role in demand planning and supply chain optimization. SAP IBP experience and statistical forecasting skills required.");
         job9.setRequiredSkills(Arrays.asList("SAP IBP", "SAP APO", "Demand Planning", "Supply Chain", "Statistical Forecasting", "Excel", "Python", "R", "S&OP"));
         job9.setExperienceLevel("SENIOR");
-        jobRequirements.put(job9.getId(), job9);
+        registerJob(job9);
         
         // Job 10 - Matches Rohit Gupta (Angular Developer)
         JobRequirement job10 = new JobRequirement();
@@ -751,7 +2077,7 @@ public class CandidateService {
         job10.setDescription("Looking for an experienced Angular Developer to build enterprise banking applications. Strong TypeScript and state management experience required.");
         job10.setRequiredSkills(Arrays.asList("Angular", "TypeScript", "RxJS", "NgRx", "Jasmine", "Karma", "REST APIs", "Angular Material", "Bootstrap"));
         job10.setExperienceLevel("MID");
-        jobRequirements.put(job10.getId(), job10);
+        registerJob(job10);
         
         logger.info("Initialized {} sample jobs matching candidate profiles", jobRequirements.size());
     }
@@ -760,8 +2086,17 @@ public class CandidateService {
     // SHUTDOWN
     // ========================================
     
+    @PreDestroy
     public void shutdown() {
-        executorService.shutdown();
+        if (aiMatchExecutor != null) {
+            aiMatchExecutor.shutdownNow();
+        }
+        if (matchStreamExecutor != null) {
+            matchStreamExecutor.shutdownNow();
+        }
+        if (ingestionPipeline != null) {
+            ingestionPipeline.shutdown();
+        }
         logger.info("CandidateService shutting down");
     }
     
@@ -769,16 +2104,66 @@ public class CandidateService {
     // INNER CLASSES
     // ========================================
     
+    private enum ExtractionMode {
+        BASIC, ENHANCED, STRUCTURED;
+
+        static ExtractionMode resolve(String setting, boolean enhanced) {
+            if (setting == null || setting.isBlank()) {
+                return enhanced ? ENHANCED : BASIC;
+            }
+            return valueOf(setting.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+    
+    private enum MatchingMode {
+        HEURISTIC, AI, TWO_STAGE;
+
+        static MatchingMode resolve(String setting, boolean asyncProcessing) {
+            if (setting == null || setting.isBlank()) {
+                return asyncProcessing ? AI : HEURISTIC;
+            }
+            return valueOf(setting.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+    
+    /**
+     * Either a finished AI call or a piece of streamed justification text.
+     */
+    private static final class MatchStreamEvent {
+        private final CompletableFuture<MatchResult> done;
+        private final String candidateId;
+        private final String text;
+
+        private MatchStreamEvent(CompletableFuture<MatchResult> done, String candidateId, String text) {
+            this.done = done;
+            this.candidateId = candidateId;
+            this.text = text;
+        }
+
+        static MatchStreamEvent completed(CompletableFuture<MatchResult> done) {
+            return new MatchStreamEvent(done, null, null);
+        }
+
+        static MatchStreamEvent justification(String candidateId, String text) {
+            return new MatchStreamEvent(null, candidateId, text);
+        }
+    }
+    
+    /**
+     * Written by ingestion workers and polled from request threads, so every
+     * mutable field is volatile. Writers set {@code status} last; a reader
+     * that sees a terminal status also sees the fields set before it.
+     */
     public static class ProcessingStatus {
         private final String trackingId;
         private final String fileName;
-        private String status = "initializing";
-        private int progress = 0;
-        private String candidateId;
-        private String error;
+        private volatile String status = "initializing";
+        private volatile int progress = 0;
+        private volatile String candidateId;
+        private volatile String error;
         private final LocalDateTime startedAt = LocalDateTime.now();
-        private LocalDateTime lastUpdated = LocalDateTime.now();
-        private LocalDateTime completedAt;
+        private volatile LocalDateTime lastUpdated = LocalDateTime.now();
+        private volatile LocalDateTime completedAt;
         
         public ProcessingStatus(String trackingId, String fileName) {
             this.trackingId = trackingId;
@@ -809,6 +2194,7 @@ public class CandidateService {
         private final String candidateId;
         private final String error;
         private final int skillsExtracted;
+        private Map<String, Long> stageTimings = Collections.emptyMap();
         
         public ProcessingResult(String fileName, boolean success, String candidateId, int skillsExtracted) {
             this.fileName = fileName;
@@ -832,5 +2218,7 @@ public class CandidateService {
         public String getCandidateId() { return candidateId; }
         public String getError() { return error; }
         public int getSkillsExtracted() { return skillsExtracted; }
+        public Map<String, Long> getStageTimings() { return stageTimings; }
+        public void setStageTimings(Map<String, Long> stageTimings) { this.stageTimings = stageTimings; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+// src/main/java/com/hackathon/hr/service/CircuitBreaker.java
+package com.hackathon.hr.service;
+
+import com.hackathon.hr.exception.ServiceDegradedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Closed / open / half-open breaker for one downstream service. After
+ * {@code failureThreshold} consecutive outage errors it opens and refuses
+ * calls for {@code openMillis}; then it lets a few trial calls through
+ * (half-open) and closes on the first success or reopens on a failure.
+ * Errors the outage predicate rejects (bad input, throttling) neither count
+ * as failures nor reset the count.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+    private final Predicate<Throwable> isOutage;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int halfOpenInFlight;
+    private long openedAt;
+    private Throwable lastFailure;
+    private long trips;
+    private long rejected;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis, int halfOpenCalls,
+                          Predicate<Throwable> isOutage) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = Math.max(0, openMillis);
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.isOutage = isOutage;
+    }
+
+    /**
+     * Claim the right to make one call. Every successful claim must be
+     * followed by {@link #onSuccess()} or {@link #onError(Throwable)}.
+     *
+     * @throws ServiceDegradedException while the breaker is open
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            halfOpenInFlight = 0;
+            logger.info("Circuit breaker {} half-open; allowing {} trial call(s)", name, halfOpenCalls);
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenInFlight >= halfOpenCalls)) {
+            rejected++;
+            throw new ServiceDegradedException(String.format(
+                    "%s is temporarily unavailable; retry in about %d seconds",
+                    name, Math.max(1, retryInMillis() / 1000)));
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight++;
+        }
+    }
+
+    /**
+     * Whether a call would currently be let through, without claiming it.
+     */
+    public synchronized boolean isCallPermitted() {
+        switch (state) {
+            case OPEN:
+                return System.currentTimeMillis() - openedAt >= openMillis;
+            case HALF_OPEN:
+                return halfOpenInFlight < halfOpenCalls;
+            default:
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            logger.info("Circuit breaker {} closed; trial call succeeded", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        halfOpenInFlight = 0;
+    }
+
+    public synchronized void onError(Throwable error) {
+        if (!isOutage.test(error)) {
+            if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+                halfOpenInFlight--;
+            }
+            return;
+        }
+
+        lastFailure = error;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            halfOpenInFlight = 0;
+            trips++;
+            logger.warn("Circuit breaker {} opened after {} consecutive failure(s); refusing calls for {}ms. Last error: {}",
+                    name, consecutiveFailures, openMillis, error.toString());
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("state", state.name());
+        statistics.put("consecutiveFailures", consecutiveFailures);
+        statistics.put("failureThreshold", failureThreshold);
+        statistics.put("trips", trips);
+        statistics.put("rejectedCalls", rejected);
+        if (state == State.OPEN) {
+            statistics.put("openedAt", Instant.ofEpochMilli(openedAt).toString());
+            statistics.put("retryInMs", retryInMillis());
+        }
+        if (lastFailure != null) {
+            statistics.put("lastFailure", lastFailure.toString());
+        }
+        return statistics;
+    }
+
+    private long retryInMillis() {
+        return state == State.OPEN ? Math.max(0, openMillis - (System.currentTimeMillis() - openedAt)) : 0;
+    }
+}
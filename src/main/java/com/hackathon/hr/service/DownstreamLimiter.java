@@ -0,0 +1,124 @@
+// src/main/java/com/hackathon/hr/service/DownstreamLimiter.java
+package com.hackathon.hr.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of in-flight calls to each remote service. With virtual
+ * threads the executors no longer bound concurrency, so these semaphores are
+ * what keeps thousands of tasks from flooding S3, Textract, Bedrock or SendGrid.
+ */
+@Component
+public class DownstreamLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamLimiter.class);
+
+    public enum Downstream { S3, TEXTRACT, BEDROCK, EMAIL }
+
+    @Value("${hr.execution.limit.s3:64}")
+    private int s3Limit;
+
+    @Value("${hr.execution.limit.textract:16}")
+    private int textractLimit;
+
+    @Value("${hr.execution.limit.bedrock:32}")
+    private int bedrockLimit;
+
+    @Value("${hr.execution.limit.email:16}")
+    private int emailLimit;
+
+    // How long a call waits for a permit before it is refused
+    @Value("${hr.execution.limit.acquire-timeout.ms:60000}")
+    private long acquireTimeoutMs;
+
+    private final Map<Downstream, Semaphore> semaphores = new EnumMap<>(Downstream.class);
+    private final Map<Downstream, Integer> limits = new EnumMap<>(Downstream.class);
+
+    @PostConstruct
+    public void init() {
+        limits.put(Downstream.S3, s3Limit);
+        limits.put(Downstream.TEXTRACT, textractLimit);
+        limits.put(Downstream.BEDROCK, bedrockLimit);
+        limits.put(Downstream.EMAIL, emailLimit);
+        limits.forEach((downstream, limit) -> semaphores.put(downstream, new Semaphore(Math.max(1, limit))));
+        logger.info("Downstream concurrency limits: {}", limits);
+    }
+
+    /**
+     * Wait for a permit to call the given service; release it by closing the
+     * returned permit (try-with-resources).
+     *
+     * @throws RejectedExecutionException if no permit frees up within the acquire timeout
+     */
+    public Permit acquire(Downstream downstream) {
+        Semaphore semaphore = semaphores.get(downstream);
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Too many concurrent " + downstream + " calls; waited "
+                        + acquireTimeoutMs + "ms for a permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a " + downstream + " permit", e);
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * A permit if one is free right now, otherwise null.
+     */
+    public Permit tryAcquire(Downstream downstream) {
+        Semaphore semaphore = semaphores.get(downstream);
+        return semaphore.tryAcquire() ? new Permit(semaphore) : null;
+    }
+
+    public int getLimit(Downstream downstream) {
+        return limits.get(downstream);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        semaphores.forEach((downstream, semaphore) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            int limit = Math.max(1, limits.get(downstream));
+            stats.put("limit", limit);
+            stats.put("inFlight", limit - semaphore.availablePermits());
+            stats.put("waiting", semaphore.getQueueLength());
+            statistics.put(downstream.name().toLowerCase(), stats);
+        });
+        return statistics;
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+        private boolean released;
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import javax.annotation.PreDestroy;
+
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.Duration;
@@ -19,6 +21,7 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -28,6 +31,10 @@ public class EmailService {
     
     private final SendGrid sendGrid;
     private final TemplateEngine templateEngine;
+    private final DownstreamLimiter downstreamLimiter;
+    
+    // Runs the blocking SendGrid calls; a virtual thread per email in virtual-thread mode
+    private final ExecutorService emailExecutor;
     
     @Value("${sendgrid.from.email}")
     private String fromEmail;
@@ -60,8 +67,13 @@ public class EmailService {
     private final Map<String, RateLimitInfo> rateLimitMap = new ConcurrentHashMap<>();
     
     public EmailService(@Value("${sendgrid.api.key:}") String apiKey, 
-                       TemplateEngine templateEngine) {
+                       @Value("${email.executor.threads:4}") int emailThreads,
+                       TemplateEngine templateEngine,
+                       TaskExecutorFactory taskExecutorFactory,
+                       DownstreamLimiter downstreamLimiter) {
         this.templateEngine = templateEngine;
+        this.downstreamLimiter = downstreamLimiter;
+        this.emailExecutor = taskExecutorFactory.newExecutor("email", emailThreads);
         
         // Only initialize SendGrid if API key is provided
         if (apiKey != null && !apiKey.trim().isEmpty() && !apiKey.equals("your-api-key-here")) {
@@ -134,7 +146,7 @@ public class EmailService {
                 stats.recordFailure();
                 return false;
             }
-        });
+        }, emailExecutor);
     }
     
     public CompletableFuture<Boolean> sendSessionExpiredEmail(String toEmail) {
@@ -175,7 +187,7 @@ public class EmailService {
                 stats.recordFailure();
                 return false;
             }
-        });
+        }, emailExecutor);
     }
     
     public CompletableFuture<Boolean> sendWelcomeEmail(String toEmail) {
@@ -215,7 +227,7 @@ public class EmailService {
                 stats.recordFailure();
                 return false;
             }
-        });
+        }, emailExecutor);
     }
     
     public CompletableFuture<Boolean> sendQueueTurnEmail(String toEmail, String accessLink, int expirationMinutes) {
@@ -278,7 +290,7 @@ public class EmailService {
                 stats.recordFailure();
                 return false;
             }
-        });
+        }, emailExecutor);
     }
     
     private boolean sendEmailWithRetry(Mail mail) {
@@ -296,7 +308,10 @@ public class EmailService {
                 request.setEndpoint("mail/send");
                 request.setBody(mail.build());
                 
-                Response response = sendGrid.api(request);
+                Response response;
+                try (DownstreamLimiter.Permit permit = downstreamLimiter.acquire(DownstreamLimiter.Downstream.EMAIL)) {
+                    response = sendGrid.api(request);
+                }
                 
                 if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
                     logger.info("Email sent successfully to: {} (Status: {})", 
@@ -363,6 +378,11 @@ public class EmailService {
         }
     }
     
+    @PreDestroy
+    public void shutdown() {
+        emailExecutor.shutdown();
+    }
+    
     // Get email statistics
     public EmailStats getEmailStatistics() {
         return stats;
@@ -0,0 +1,73 @@
+// src/main/java/com/hackathon/hr/service/IngestionJob.java
+package com.hackathon.hr.service;
+
+import com.hackathon.hr.model.Candidate;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One resume travelling through the {@link IngestionPipeline}. Each stage
+ * fills in its output for the next; hand-over through the stage queues makes
+ * the fields visible to the next worker.
+ */
+public class IngestionJob {
+
+    private final String trackingId;
+    private final String fileName;
+    private final String contentType;
+    private byte[] content;
+    private String s3Key;
+    private String extractedText;
+    private String promptText;
+
+    private final Map<String, Long> stageTimings = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final CompletableFuture<Candidate> result = new CompletableFuture<>();
+    private long enqueuedAt;
+
+    public IngestionJob(String trackingId, String fileName, String contentType, byte[] content) {
+        this.trackingId = trackingId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.content = content;
+    }
+
+    public String getTrackingId() { return trackingId; }
+    public String getFileName() { return fileName; }
+    public String getContentType() { return contentType; }
+    public byte[] getContent() { return content; }
+    public String getS3Key() { return s3Key; }
+    public String getExtractedText() { return extractedText; }
+
+    /**
+     * Compacted resume text for Bedrock prompts; the candidate keeps the full text.
+     */
+    public String getPromptText() { return promptText; }
+
+    /**
+     * Store the S3 key and drop the document bytes, which no later stage needs.
+     */
+    public void setS3Key(String s3Key) {
+        this.s3Key = s3Key;
+        this.content = null;
+    }
+
+    public void setExtractedText(String extractedText) { this.extractedText = extractedText; }
+    public void setPromptText(String promptText) { this.promptText = promptText; }
+
+    /**
+     * Milliseconds spent in each completed stage, in pipeline order.
+     */
+    public Map<String, Long> getStageTimings() { return stageTimings; }
+
+    public CompletableFuture<Candidate> getResult() { return result; }
+
+    void recordStage(String stage, long millis) {
+        stageTimings.put(stage, millis);
+    }
+
+    long getEnqueuedAt() { return enqueuedAt; }
+    void setEnqueuedAt(long enqueuedAt) { this.enqueuedAt = enqueuedAt; }
+}
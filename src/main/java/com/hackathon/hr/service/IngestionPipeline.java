@@ -0,0 +1,237 @@
+// src/main/java/com/hackathon/hr/service/IngestionPipeline.java
+package com.hackathon.hr.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resume ingestion split into stages (S3 upload, Textract, Bedrock), each
+ * with its own worker pool and a bounded input queue. A full queue blocks the
+ * stage in front of it, so a slow service throttles the ones upstream instead
+ * of piling work up in memory, while a batch keeps every service busy at once.
+ */
+public class IngestionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionPipeline.class);
+
+    @FunctionalInterface
+    public interface StageAction {
+        void process(IngestionJob job) throws Exception;
+    }
+
+    private final List<Stage> stages = new ArrayList<>();
+    private final long submitTimeoutMs;
+    private final TaskExecutorFactory taskExecutorFactory;
+    private volatile boolean started;
+    private volatile boolean shutDown;
+
+    public IngestionPipeline(long submitTimeoutMs, TaskExecutorFactory taskExecutorFactory) {
+        this.submitTimeoutMs = submitTimeoutMs;
+        this.taskExecutorFactory = taskExecutorFactory;
+    }
+
+    /**
+     * Append a stage. The last stage is expected to complete the job's result.
+     */
+    public IngestionPipeline addStage(String name, int workers, int queueCapacity, StageAction action) {
+        if (started) {
+            throw new IllegalStateException("Pipeline already started");
+        }
+        int workerCount = Math.max(1, workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount,
+                taskExecutorFactory.threadFactory("ingest-" + name));
+        stages.add(new Stage(name, workerCount, Math.max(1, queueCapacity), action, executor));
+        return this;
+    }
+
+    public void start() {
+        for (int i = 0; i < stages.size(); i++) {
+            Stage stage = stages.get(i);
+            Stage next = i + 1 < stages.size() ? stages.get(i + 1) : null;
+            for (int w = 0; w < stage.workers; w++) {
+                stage.executor.execute(() -> runWorker(stage, next));
+            }
+        }
+        started = true;
+        logger.info("Ingestion pipeline started: {}", describe());
+    }
+
+    /**
+     * Enqueue a job at the first stage, waiting up to the submit timeout for
+     * room. The job's result completes when the last stage finishes or any
+     * stage fails.
+     */
+    public void submit(IngestionJob job) {
+        if (shutDown) {
+            throw new RejectedExecutionException("Ingestion pipeline is shut down");
+        }
+        Stage first = stages.get(0);
+        job.setEnqueuedAt(System.nanoTime());
+        try {
+            if (!first.queue.offer(job, submitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Ingestion pipeline is full ("
+                        + first.queue.size() + " resumes waiting for " + first.name + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while queueing resume", e);
+        }
+    }
+
+    /**
+     * Stop the workers and fail every job still queued, so nobody waits on
+     * a result that will never come. Jobs in a stage when it is interrupted
+     * fail through that stage.
+     */
+    public void shutdown() {
+        shutDown = true;
+        for (Stage stage : stages) {
+            stage.executor.shutdownNow();
+        }
+        try {
+            for (Stage stage : stages) {
+                // Workers may still be handing a job on; let them stop before draining
+                stage.executor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<IngestionJob> dropped = new ArrayList<>();
+        for (Stage stage : stages) {
+            stage.queue.drainTo(dropped);
+        }
+        for (IngestionJob job : dropped) {
+            job.getResult().completeExceptionally(new RejectedExecutionException("Ingestion pipeline shut down"));
+        }
+        if (!dropped.isEmpty()) {
+            logger.warn("Ingestion pipeline shut down with {} resumes still queued", dropped.size());
+        }
+    }
+
+    /**
+     * Queue depth, worker utilisation and latency per stage.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (Stage stage : stages) {
+            Map<String, Object> stageStats = new LinkedHashMap<>();
+            long processed = stage.processed.get();
+            stageStats.put("workers", stage.workers);
+            stageStats.put("busyWorkers", stage.busy.get());
+            stageStats.put("queueDepth", stage.queue.size());
+            stageStats.put("queueCapacity", stage.queue.size() + stage.queue.remainingCapacity());
+            stageStats.put("processed", processed);
+            stageStats.put("failed", stage.failed.get());
+            stageStats.put("averageLatencyMs", processed == 0 ? 0 : stage.totalNanos.get() / processed / 1_000_000);
+            stageStats.put("maxLatencyMs", stage.maxNanos.get() / 1_000_000);
+            stageStats.put("averageQueueWaitMs", processed == 0 ? 0 : stage.waitNanos.get() / processed / 1_000_000);
+            statistics.put(stage.name, stageStats);
+        }
+        return statistics;
+    }
+
+    private void runWorker(Stage stage, Stage next) {
+        while (!Thread.currentThread().isInterrupted()) {
+            IngestionJob job;
+            try {
+                job = stage.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (job.getResult().isDone()) {
+                // Already failed or given up on by its caller; no point spending the later stages on it
+                continue;
+            }
+
+            long start = System.nanoTime();
+            stage.waitNanos.addAndGet(start - job.getEnqueuedAt());
+            stage.busy.incrementAndGet();
+            try {
+                stage.action.process(job);
+                record(stage, job, start);
+            } catch (Throwable e) {
+                // Errors too: the job's caller would otherwise wait on it forever
+                record(stage, job, start);
+                stage.failed.incrementAndGet();
+                job.getResult().completeExceptionally(e);
+                continue;
+            } finally {
+                stage.busy.decrementAndGet();
+            }
+
+            if (next != null) {
+                job.setEnqueuedAt(System.nanoTime());
+                try {
+                    // Blocks while the next stage is saturated: this is the backpressure
+                    next.queue.put(job);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    job.getResult().completeExceptionally(e);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void record(Stage stage, IngestionJob job, long start) {
+        long elapsed = System.nanoTime() - start;
+        stage.processed.incrementAndGet();
+        stage.totalNanos.addAndGet(elapsed);
+        stage.maxNanos.accumulateAndGet(elapsed, Math::max);
+        job.recordStage(stage.name, elapsed / 1_000_000);
+    }
+
+    private String describe() {
+        StringBuilder description = new StringBuilder();
+        for (Stage stage : stages) {
+            if (description.length() > 0) {
+                description.append(" -> ");
+            }
+            description.append(stage.name).append('[').append(stage.workers).append(" workers, queue ")
+                    .append(stage.queue.remainingCapacity()).append(']');
+        }
+        return description.toString();
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    private static class Stage {
+        private final String name;
+        private final int workers;
+        private final BlockingQueue<IngestionJob> queue;
+        private final StageAction action;
+        private final ExecutorService executor;
+
+        private final AtomicInteger busy = new AtomicInteger();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+
+        Stage(String name, int workers, int queueCapacity, StageAction action, ExecutorService executor) {
+            this.name = name;
+            this.workers = workers;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.action = action;
+            this.executor = executor;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+// src/main/java/com/hackathon/hr/service/JobScoreTable.java
+package com.hackathon.hr.service;
+
+import com.hackathon.hr.model.MatchResult;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed heuristic scores of every candidate against one job. Kept up to
+ * date incrementally as candidates come and go; a table built from an older
+ * {@link com.hackathon.hr.model.JobRequirement#getRevision() revision} of the
+ * job is rebuilt on next read. Entries carry no justification.
+ */
+public class JobScoreTable {
+
+    private final String jobId;
+    private final long jobRevision;
+    private final Map<String, MatchResult> scores = new ConcurrentHashMap<>();
+
+    public JobScoreTable(String jobId, long jobRevision) {
+        this.jobId = jobId;
+        this.jobRevision = jobRevision;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void put(MatchResult score) {
+        scores.put(score.getCandidateId(), score);
+    }
+
+    public MatchResult get(String candidateId) {
+        return scores.get(candidateId);
+    }
+
+    public void remove(String candidateId) {
+        scores.remove(candidateId);
+    }
+
+    public void clear() {
+        scores.clear();
+    }
+
+    public Collection<MatchResult> values() {
+        return scores.values();
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    /**
+     * True if the job has changed since this table was built.
+     */
+    public boolean isStaleFor(long currentJobRevision) {
+        return currentJobRevision != jobRevision;
+    }
+}
@@ -0,0 +1,38 @@
+// src/main/java/com/hackathon/hr/service/LanguageModelClient.java
+package com.hackathon.hr.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Sends one prompt to a language model and returns the generated text.
+ * {@link BedrockService} keeps caching, routing, rate limiting and circuit
+ * breaking; an implementation only makes the call. Failures use the AWS SDK
+ * exception types (throttling, 5xx, API call timeout) so the rate limiter
+ * and circuit breaker treat every implementation alike.
+ */
+public interface LanguageModelClient {
+
+    /**
+     * Blocking call with the profile's model and inference settings.
+     */
+    String invoke(ModelProfile profile, String prompt);
+
+    /**
+     * Non-blocking call. Cancelling the returned future abandons the call.
+     */
+    CompletableFuture<String> invokeAsync(ModelProfile profile, String prompt);
+
+    /**
+     * Streaming call: each piece of text goes to {@code onText} as it is
+     * generated, and once {@code stopWhen} is true the stream is cancelled
+     * and the text so far is the result. {@code onText} must not block.
+     * Cancelling the returned future cancels the stream.
+     */
+    CompletableFuture<String> invokeStream(ModelProfile profile, String prompt,
+                                           Consumer<String> onText, BooleanSupplier stopWhen);
+
+    Map<String, Object> getStatistics();
+}
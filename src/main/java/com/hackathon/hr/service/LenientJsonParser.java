@@ -0,0 +1,179 @@
+// src/main/java/com/hackathon/hr/service/LenientJsonParser.java
+package com.hackathon.hr.service;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Parses the JSON object in a model response, repairing it locally when the
+ * model wrapped it in prose or code fences, used single quotes or trailing
+ * commas, or was cut off by the token limit. A truncated response yields the
+ * fields that were complete; the last, partial field is dropped.
+ */
+public class LenientJsonParser {
+
+    // Truncation points tried before giving up, newest first
+    private static final int MAX_REPAIR_ATTEMPTS = 32;
+
+    private final JsonMapper mapper = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
+            .build();
+
+    /**
+     * @return the outermost JSON object in the response
+     * @throws IOException if no object can be recovered
+     */
+    public Result parseObject(String response) throws IOException {
+        if (response == null) {
+            throw new IOException("Empty model response");
+        }
+        int start = response.indexOf('{');
+        if (start == -1) {
+            throw new IOException("No JSON object in model response");
+        }
+
+        // Fast path: well-formed object, possibly surrounded by prose
+        int end = response.lastIndexOf('}');
+        if (end > start) {
+            try {
+                JsonNode node = mapper.readTree(response.substring(start, end + 1));
+                if (node != null && node.isObject()) {
+                    return new Result(node, false);
+                }
+            } catch (IOException e) {
+                // fall through to repair
+            }
+        }
+
+        String json = response.substring(start);
+        for (String candidate : repairCandidates(json)) {
+            try {
+                JsonNode node = mapper.readTree(candidate);
+                if (node != null && node.isObject()) {
+                    return new Result(node, true);
+                }
+            } catch (IOException e) {
+                // try the next, shorter candidate
+            }
+        }
+        throw new IOException("Could not repair JSON in model response");
+    }
+
+    /**
+     * Closed-off prefixes of the text: the whole text first (unless it ends
+     * inside a string), then the text cut at each structural comma from the
+     * end backwards, each with the brackets still open at that point closed.
+     */
+    private List<String> repairCandidates(String json) {
+        Deque<Character> open = new ArrayDeque<>();
+        List<Integer> cuts = new ArrayList<>();
+        List<String> closersAtCut = new ArrayList<>();
+        boolean inString = false;
+        char quote = 0;
+        boolean escaped = false;
+        int endOfObject = -1;
+
+        for (int i = 0; i < json.length() && endOfObject == -1; i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == quote) {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"':
+                case '\'':
+                    inString = true;
+                    quote = c;
+                    break;
+                case '{':
+                    open.push('}');
+                    break;
+                case '[':
+                    open.push(']');
+                    break;
+                case '}':
+                case ']':
+                    if (!open.isEmpty()) {
+                        open.pop();
+                    }
+                    if (open.isEmpty()) {
+                        endOfObject = i;
+                    }
+                    break;
+                case ',':
+                    cuts.add(i);
+                    closersAtCut.add(closers(open));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        List<String> candidates = new ArrayList<>();
+        if (endOfObject != -1) {
+            candidates.add(json.substring(0, endOfObject + 1));
+        } else if (!inString) {
+            // Cut inside a string: that value is partial, so only the comma cuts below apply
+            candidates.add(stripDangling(json) + closers(open));
+        }
+        for (int k = cuts.size() - 1; k >= 0 && candidates.size() < MAX_REPAIR_ATTEMPTS; k--) {
+            candidates.add(json.substring(0, cuts.get(k)) + closersAtCut.get(k));
+        }
+        return candidates;
+    }
+
+    private static String closers(Deque<Character> open) {
+        StringBuilder closers = new StringBuilder();
+        for (char c : open) {
+            closers.append(c);
+        }
+        return closers.toString();
+    }
+
+    private static String stripDangling(String text) {
+        String trimmed = text.stripTrailing();
+        while (trimmed.endsWith(",") || trimmed.endsWith(":")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).stripTrailing();
+        }
+        return trimmed;
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    public static final class Result {
+        private final JsonNode node;
+        private final boolean repaired;
+
+        Result(JsonNode node, boolean repaired) {
+            this.node = node;
+            this.repaired = repaired;
+        }
+
+        public JsonNode getNode() { return node; }
+
+        /**
+         * True when the object only parsed after local repair.
+         */
+        public boolean isRepaired() { return repaired; }
+    }
+}
@@ -0,0 +1,32 @@
+// src/main/java/com/hackathon/hr/service/MatchStreamListener.java
+package com.hackathon.hr.service;
+
+import com.hackathon.hr.model.MatchResult;
+import com.hackathon.hr.model.MatchStatistics;
+
+import java.io.IOException;
+
+/**
+ * Receives match results as they are scored. Callbacks arrive on one thread
+ * and in order; an IOException from any callback (client gone) stops the
+ * stream and cancels outstanding AI calls.
+ */
+public interface MatchStreamListener {
+
+    /**
+     * @param refined true when the result replaces an earlier heuristic
+     *                result for the same candidate
+     */
+    void onMatch(MatchResult match, boolean refined) throws IOException;
+
+    /**
+     * The next piece of an AI justification still being generated for a
+     * candidate; the "update" result that follows carries the full text.
+     */
+    default void onJustification(String candidateId, String text) throws IOException {
+    }
+
+    void onComplete(MatchStatistics statistics, int aiRefined, int fallbacks) throws IOException;
+
+    void onError(Exception error);
+}
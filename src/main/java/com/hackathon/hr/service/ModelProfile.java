@@ -0,0 +1,55 @@
+// src/main/java/com/hackathon/hr/service/ModelProfile.java
+package com.hackathon.hr.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Model and inference settings for one kind of Bedrock call.
+ */
+public class ModelProfile {
+
+    private final String modelId;
+    private final int maxTokens;
+    private final double temperature;
+    private final double topP;
+    private final Duration timeout;
+    // Serialized inference settings; part of the response cache key
+    private final String inferenceConfig;
+
+    public ModelProfile(String modelId, int maxTokens, double temperature, double topP, Duration timeout) {
+        this.modelId = modelId;
+        this.maxTokens = maxTokens;
+        this.temperature = temperature;
+        this.topP = topP;
+        this.timeout = timeout;
+        this.inferenceConfig = String.format(Locale.ROOT,
+                "{\"maxTokens\": %d, \"temperature\": %s, \"topP\": %s}", maxTokens, temperature, topP);
+    }
+
+    /**
+     * The same settings on another model.
+     */
+    public ModelProfile withModel(String otherModelId) {
+        return new ModelProfile(otherModelId, maxTokens, temperature, topP, timeout);
+    }
+
+    public String getModelId() { return modelId; }
+    public int getMaxTokens() { return maxTokens; }
+    public double getTemperature() { return temperature; }
+    public double getTopP() { return topP; }
+    public Duration getTimeout() { return timeout; }
+    public String getInferenceConfig() { return inferenceConfig; }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("modelId", modelId);
+        map.put("maxTokens", maxTokens);
+        map.put("temperature", temperature);
+        map.put("topP", topP);
+        map.put("timeoutMs", timeout.toMillis());
+        return map;
+    }
+}
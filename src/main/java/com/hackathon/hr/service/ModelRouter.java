@@ -0,0 +1,301 @@
+// src/main/java/com/hackathon/hr/service/ModelRouter.java
+package com.hackathon.hr.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the model and inference settings for each kind of Bedrock call.
+ * Every call site has its own profile; a profile with a fallback model
+ * moves to it for a cool-down period when the primary model's p95 latency
+ * or throttle rate over recent calls crosses its threshold, then tries the
+ * primary again.
+ */
+@Component
+public class ModelRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelRouter.class);
+
+    public enum CallSite {
+        // Basic skills extraction
+        EXTRACTION,
+        // Enhanced and structured resume analysis
+        ANALYSIS,
+        // Match scores and justifications, single and batched
+        MATCHING;
+
+        String propertyName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // Read from environment variable first, then fall back to property; profiles without a model use it
+    @Value("${BEDROCK_MODEL_ID:${aws.bedrock.model-id:us.amazon.nova-premier-v1:0}}")
+    private String defaultModelId;
+
+    @Value("${aws.bedrock.top-p:0.9}")
+    private double topP;
+
+    // Extraction is deterministic and its output short
+    @Value("${aws.bedrock.profile.extraction.model-id:}")
+    private String extractionModelId;
+
+    @Value("${aws.bedrock.profile.extraction.fallback-model-id:}")
+    private String extractionFallbackModelId;
+
+    @Value("${aws.bedrock.profile.extraction.max-tokens:1000}")
+    private int extractionMaxTokens;
+
+    @Value("${aws.bedrock.profile.extraction.temperature:0.0}")
+    private double extractionTemperature;
+
+    @Value("${aws.bedrock.profile.extraction.timeout.ms:30000}")
+    private long extractionTimeoutMs;
+
+    @Value("${aws.bedrock.profile.analysis.model-id:}")
+    private String analysisModelId;
+
+    @Value("${aws.bedrock.profile.analysis.fallback-model-id:}")
+    private String analysisFallbackModelId;
+
+    @Value("${aws.bedrock.profile.analysis.max-tokens:${aws.bedrock.max-tokens:2000}}")
+    private int analysisMaxTokens;
+
+    @Value("${aws.bedrock.profile.analysis.temperature:0.0}")
+    private double analysisTemperature;
+
+    @Value("${aws.bedrock.profile.analysis.timeout.ms:60000}")
+    private long analysisTimeoutMs;
+
+    @Value("${aws.bedrock.profile.matching.model-id:}")
+    private String matchingModelId;
+
+    @Value("${aws.bedrock.profile.matching.fallback-model-id:}")
+    private String matchingFallbackModelId;
+
+    // Also bounds how many candidates fit in one batched prompt
+    @Value("${aws.bedrock.profile.matching.max-tokens:${aws.bedrock.max-tokens:2000}}")
+    private int matchingMaxTokens;
+
+    @Value("${aws.bedrock.profile.matching.temperature:${aws.bedrock.temperature:0.7}}")
+    private double matchingTemperature;
+
+    @Value("${aws.bedrock.profile.matching.timeout.ms:30000}")
+    private long matchingTimeoutMs;
+
+    @Value("${aws.bedrock.routing.failover.p95-latency.ms:20000}")
+    private long failoverP95LatencyMs;
+
+    // Share of recent calls that were throttled
+    @Value("${aws.bedrock.routing.failover.throttle-rate:0.25}")
+    private double failoverThrottleRate;
+
+    // Recent calls per model that the p95 and throttle rate are taken over
+    @Value("${aws.bedrock.routing.failover.window:50}")
+    private int failoverWindow;
+
+    @Value("${aws.bedrock.routing.failover.min-samples:10}")
+    private int failoverMinSamples;
+
+    @Value("${aws.bedrock.routing.failover.cooldown.ms:60000}")
+    private long failoverCooldownMs;
+
+    private final Map<CallSite, ModelProfile> profiles = new EnumMap<>(CallSite.class);
+    private final Map<CallSite, ModelProfile> fallbacks = new EnumMap<>(CallSite.class);
+    private final Map<String, ModelHealth> health = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (defaultModelId == null || defaultModelId.isEmpty()) {
+            throw new IllegalStateException("Bedrock model ID is not configured");
+        }
+        addProfile(CallSite.EXTRACTION, extractionModelId, extractionFallbackModelId,
+                extractionMaxTokens, extractionTemperature, extractionTimeoutMs);
+        addProfile(CallSite.ANALYSIS, analysisModelId, analysisFallbackModelId,
+                analysisMaxTokens, analysisTemperature, analysisTimeoutMs);
+        addProfile(CallSite.MATCHING, matchingModelId, matchingFallbackModelId,
+                matchingMaxTokens, matchingTemperature, matchingTimeoutMs);
+    }
+
+    /**
+     * Profile for the next call from this site: the fallback while the
+     * primary model is failed over, otherwise the primary.
+     */
+    public ModelProfile route(CallSite site) {
+        ModelProfile fallback = fallbacks.get(site);
+        ModelProfile primary = profiles.get(site);
+        if (fallback != null && health(primary.getModelId()).isFailedOver()) {
+            return fallback;
+        }
+        return primary;
+    }
+
+    /**
+     * Primary and, if configured, fallback profile for this site.
+     */
+    public ModelProfile[] candidates(CallSite site) {
+        ModelProfile fallback = fallbacks.get(site);
+        return fallback == null
+                ? new ModelProfile[] { profiles.get(site) }
+                : new ModelProfile[] { profiles.get(site), fallback };
+    }
+
+    /**
+     * Record one attempt against a model: how long it took and whether it
+     * was throttled.
+     */
+    public void record(String modelId, long millis, boolean throttled) {
+        health(modelId).record(millis, throttled);
+    }
+
+    /**
+     * Latency at this percentile (0.9 for p90) over the model's recent
+     * calls, or -1 until there are enough samples to say.
+     */
+    public long latencyPercentile(String modelId, double percentile) {
+        return health(modelId).latencyPercentile(percentile);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        Map<String, Object> sites = new LinkedHashMap<>();
+        for (CallSite site : CallSite.values()) {
+            Map<String, Object> entry = profiles.get(site).toMap();
+            ModelProfile fallback = fallbacks.get(site);
+            if (fallback != null) {
+                entry.put("fallbackModelId", fallback.getModelId());
+            }
+            entry.put("routedTo", route(site).getModelId());
+            sites.put(site.propertyName(), entry);
+        }
+        statistics.put("profiles", sites);
+
+        Map<String, Object> models = new LinkedHashMap<>();
+        health.forEach((modelId, modelHealth) -> models.put(modelId, modelHealth.getStatistics()));
+        statistics.put("models", models);
+        return statistics;
+    }
+
+    private void addProfile(CallSite site, String modelId, String fallbackModelId,
+                            int maxTokens, double temperature, long timeoutMs) {
+        String primaryModel = modelId == null || modelId.isBlank() ? defaultModelId : modelId.trim();
+        ModelProfile profile = new ModelProfile(primaryModel, maxTokens, temperature, topP,
+                Duration.ofMillis(timeoutMs));
+        profiles.put(site, profile);
+        if (fallbackModelId != null && !fallbackModelId.isBlank() && !fallbackModelId.trim().equals(primaryModel)) {
+            fallbacks.put(site, profile.withModel(fallbackModelId.trim()));
+        }
+        logger.info("Bedrock profile {}: model {} (fallback {}), maxTokens {}, temperature {}, timeout {}ms",
+                site.propertyName(), primaryModel, fallbacks.containsKey(site) ? fallbacks.get(site).getModelId() : "none",
+                maxTokens, temperature, timeoutMs);
+    }
+
+    private ModelHealth health(String modelId) {
+        return health.computeIfAbsent(modelId, ModelHealth::new);
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    /**
+     * Recent latency and throttling for one model, in a ring of the last
+     * {@code failoverWindow} attempts. Crossing a threshold starts the
+     * cool-down and clears the ring, so the primary is judged afresh when it
+     * is tried again.
+     */
+    private class ModelHealth {
+        private final String modelId;
+        private final long[] latencies = new long[Math.max(1, failoverWindow)];
+        private final boolean[] throttles = new boolean[latencies.length];
+        private int next;
+        private int size;
+        private long failedOverUntil;
+        private long failovers;
+        private long calls;
+
+        ModelHealth(String modelId) {
+            this.modelId = modelId;
+        }
+
+        synchronized void record(long millis, boolean throttled) {
+            calls++;
+            latencies[next] = millis;
+            throttles[next] = throttled;
+            next = (next + 1) % latencies.length;
+            size = Math.min(size + 1, latencies.length);
+
+            if (size < failoverMinSamples || isFailedOver()) {
+                return;
+            }
+            long p95 = percentile(0.95);
+            double throttleRate = throttleRate();
+            if (p95 > failoverP95LatencyMs || throttleRate > failoverThrottleRate) {
+                failedOverUntil = System.currentTimeMillis() + failoverCooldownMs;
+                failovers++;
+                size = 0;
+                next = 0;
+                logger.warn("Bedrock model {} failed over for {}ms: p95 {}ms (limit {}ms), throttle rate {} (limit {})",
+                        modelId, failoverCooldownMs, p95, failoverP95LatencyMs,
+                        String.format(Locale.ROOT, "%.2f", throttleRate), failoverThrottleRate);
+            }
+        }
+
+        synchronized boolean isFailedOver() {
+            return System.currentTimeMillis() < failedOverUntil;
+        }
+
+        synchronized Map<String, Object> getStatistics() {
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("calls", calls);
+            statistics.put("samples", size);
+            statistics.put("p95LatencyMs", percentile(0.95));
+            statistics.put("throttleRate", String.format(Locale.ROOT, "%.2f", throttleRate()));
+            statistics.put("failovers", failovers);
+            if (isFailedOver()) {
+                statistics.put("failedOverUntil", Instant.ofEpochMilli(failedOverUntil).toString());
+            }
+            return statistics;
+        }
+
+        synchronized long latencyPercentile(double percentile) {
+            return size < failoverMinSamples ? -1 : percentile(percentile);
+        }
+
+        private long percentile(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(size * percentile);
+            return sorted[Math.min(size, Math.max(1, rank)) - 1];
+        }
+
+        private double throttleRate() {
+            if (size == 0) {
+                return 0.0;
+            }
+            int throttled = 0;
+            for (int i = 0; i < size; i++) {
+                if (throttles[i]) {
+                    throttled++;
+                }
+            }
+            return (double) throttled / size;
+        }
+    }
+}
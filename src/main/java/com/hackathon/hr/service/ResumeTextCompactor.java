@@ -0,0 +1,282 @@
+// src/main/java/com/hackathon/hr/service/ResumeTextCompactor.java
+package com.hackathon.hr.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks Textract output before it goes into a Bedrock prompt: collapses
+ * whitespace, drops page furniture, contact details and lines repeated on
+ * every page, then fits the text into a token budget by keeping the
+ * sections that matter most for skills extraction.
+ */
+public class ResumeTextCompactor {
+
+    private static final Pattern WHITESPACE = Pattern.compile("[ \\t\\u00A0\\u2000-\\u200B]+");
+    private static final Pattern LEADING_BULLET = Pattern.compile("^[\\u2022\\u25AA\\u25CF\\u25E6\\u2023\\u2043\\u2219\\u00B7*>~-]+\\s*");
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+");
+    private static final Pattern URL = Pattern.compile("(https?://|www\\.)\\S+", Pattern.CASE_INSENSITIVE);
+    // International numbers with a leading +, or 3-3-4 digit groups; date ranges must not match
+    private static final Pattern PHONE = Pattern.compile(
+            "\\+\\d[\\d ().-]{8,}\\d|\\(?\\b\\d{3}\\)?[ .-]?\\d{3}[ .-]\\d{4}\\b");
+    // "Page 2 of 3", "2/3", "- 2 -"; bare numbers of up to 3 digits so years on their own line survive
+    private static final Pattern PAGE_MARKER = Pattern.compile(
+            "(?i)^(page\\s*)?\\d+\\s*(of|/)\\s*\\d+$|^page\\s*\\d+$|^-?\\s*\\d{1,3}\\s*-?$");
+    private static final Pattern NO_CONTENT = Pattern.compile("^[\\p{Punct}\\s]*$");
+    private static final Pattern BOILERPLATE = Pattern.compile(
+            "(?i)^(curriculum vitae|resume|r\u00e9sum\u00e9|cv|references?( are)? available( upon| on)? request\\.?|confidential)$");
+    // Running headers and footers are short; longer repeats are content (bullets, job titles)
+    private static final int MAX_RUNNING_LINE_LENGTH = 60;
+
+    // Lower value is kept first when the budget is tight; REFERENCES is always dropped
+    private enum Section {
+        HEADER(2), SKILLS(0), EXPERIENCE(1), EDUCATION(3), CERTIFICATIONS(4), SUMMARY(5),
+        PROJECTS(6), ACHIEVEMENTS(7), LANGUAGES(8), PUBLICATIONS(9), VOLUNTEER(10), INTERESTS(11),
+        REFERENCES(Integer.MAX_VALUE);
+
+        private final int priority;
+
+        Section(int priority) {
+            this.priority = priority;
+        }
+    }
+
+    private static final Map<Section, Pattern> HEADINGS = new LinkedHashMap<>();
+
+    static {
+        HEADINGS.put(Section.SKILLS, heading("(technical |core |key )?(skills|competencies|expertise)|technologies|tech stack|tools"));
+        HEADINGS.put(Section.EXPERIENCE, heading("(professional |work |relevant )?experience|employment( history)?|work history|career history"));
+        HEADINGS.put(Section.EDUCATION, heading("education|academic (background|qualifications)|qualifications"));
+        HEADINGS.put(Section.CERTIFICATIONS, heading("certifications?|licen[cs]es?( (and|&) certifications?)?|courses|training"));
+        HEADINGS.put(Section.SUMMARY, heading("(professional |career )?(summary|profile|objective)|about me"));
+        HEADINGS.put(Section.PROJECTS, heading("(personal |key )?projects"));
+        HEADINGS.put(Section.ACHIEVEMENTS, heading("achievements|accomplishments|awards( (and|&) honou?rs)?|honou?rs"));
+        HEADINGS.put(Section.LANGUAGES, heading("languages"));
+        HEADINGS.put(Section.PUBLICATIONS, heading("publications|patents"));
+        HEADINGS.put(Section.VOLUNTEER, heading("volunteer(ing)?( experience)?|community"));
+        HEADINGS.put(Section.INTERESTS, heading("interests|hobbies|activities"));
+        HEADINGS.put(Section.REFERENCES, heading("references|referees"));
+    }
+
+    private final boolean enabled;
+    private final int tokenBudget;
+
+    private final AtomicLong resumes = new AtomicLong();
+    private final AtomicLong tokensIn = new AtomicLong();
+    private final AtomicLong tokensOut = new AtomicLong();
+    private final AtomicLong truncated = new AtomicLong();
+
+    public ResumeTextCompactor(boolean enabled, int tokenBudget) {
+        this.enabled = enabled;
+        this.tokenBudget = tokenBudget;
+    }
+
+    /**
+     * Rough token count used for the budget: about four characters per token.
+     */
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    public String compact(String text) {
+        if (!enabled || text == null || text.isEmpty()) {
+            return text;
+        }
+
+        List<Block> blocks = splitSections(cleanLines(text));
+        int total = 0;
+        for (Block block : blocks) {
+            total += block.tokens();
+        }
+        if (tokenBudget > 0 && total > tokenBudget) {
+            applyBudget(blocks);
+            truncated.incrementAndGet();
+        }
+
+        StringBuilder compacted = new StringBuilder();
+        for (Block block : blocks) {
+            for (String line : block.lines) {
+                compacted.append(line).append('\n');
+            }
+        }
+        String result = compacted.toString().trim();
+
+        resumes.incrementAndGet();
+        tokensIn.addAndGet(estimateTokens(text));
+        tokensOut.addAndGet(estimateTokens(result));
+        return result;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        long in = tokensIn.get();
+        long out = tokensOut.get();
+        statistics.put("enabled", enabled);
+        statistics.put("tokenBudget", tokenBudget);
+        statistics.put("resumes", resumes.get());
+        statistics.put("estimatedTokensIn", in);
+        statistics.put("estimatedTokensOut", out);
+        statistics.put("reductionPercent", in == 0 ? 0.0 : Math.round((in - out) * 1000.0 / in) / 10.0);
+        statistics.put("overBudget", truncated.get());
+        return statistics;
+    }
+
+    // ========================================
+    // CLEANUP
+    // ========================================
+
+    /**
+     * Normalised lines with contact details, page markers, boilerplate and
+     * running headers and footers removed. A line counts as a running header
+     * only when it is short and appears at least once per page, the page
+     * count coming from the page markers; other repeats such as the same job
+     * title at two employers are kept.
+     */
+    private List<String> cleanLines(String text) {
+        List<String> lines = new ArrayList<>();
+        int pages = 0;
+        for (String raw : text.split("\\r?\\n")) {
+            String line = EMAIL.matcher(raw).replaceAll(" ");
+            line = URL.matcher(line).replaceAll(" ");
+            line = PHONE.matcher(line).replaceAll(" ");
+            line = WHITESPACE.matcher(line).replaceAll(" ").trim();
+            line = LEADING_BULLET.matcher(line).replaceFirst("- ").trim();
+
+            if (PAGE_MARKER.matcher(line).matches()) {
+                pages++;
+                continue;
+            }
+            if (line.isEmpty() || line.equals("-")
+                    || NO_CONTENT.matcher(line).matches()
+                    || BOILERPLATE.matcher(line).matches()) {
+                continue;
+            }
+            lines.add(line);
+        }
+        if (pages < 2) {
+            return lines;
+        }
+
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (String line : lines) {
+            if (line.length() <= MAX_RUNNING_LINE_LENGTH) {
+                occurrences.merge(line.toLowerCase(Locale.ROOT), 1, Integer::sum);
+            }
+        }
+        List<String> kept = new ArrayList<>(lines.size());
+        Set<String> seen = new HashSet<>();
+        for (String line : lines) {
+            String key = line.toLowerCase(Locale.ROOT);
+            if (occurrences.getOrDefault(key, 0) >= pages && !seen.add(key)) {
+                continue;
+            }
+            kept.add(line);
+        }
+        return kept;
+    }
+
+    // ========================================
+    // SECTIONS AND BUDGET
+    // ========================================
+
+    private List<Block> splitSections(List<String> lines) {
+        List<Block> blocks = new ArrayList<>();
+        Block current = new Block(Section.HEADER);
+        blocks.add(current);
+        for (String line : lines) {
+            Section section = headingOf(line);
+            if (section != null) {
+                current = new Block(section);
+                blocks.add(current);
+            }
+            current.lines.add(line);
+        }
+        return blocks;
+    }
+
+    private static Section headingOf(String line) {
+        if (line.length() > 40) {
+            return null;
+        }
+        String candidate = line.replaceAll("[:\\s]+$", "");
+        for (Map.Entry<Section, Pattern> entry : HEADINGS.entrySet()) {
+            if (entry.getValue().matcher(candidate).matches()) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keep whole sections in priority order while they fit; the first one
+     * that does not fit keeps its leading lines (most recent roles come
+     * first), and everything of lower priority is dropped. Document order is
+     * preserved because blocks are trimmed in place.
+     */
+    private void applyBudget(List<Block> blocks) {
+        List<Block> byPriority = new ArrayList<>(blocks);
+        byPriority.sort((a, b) -> Integer.compare(a.section.priority, b.section.priority));
+
+        int remaining = tokenBudget;
+        boolean full = false;
+        for (Block block : byPriority) {
+            if (full || block.section == Section.REFERENCES) {
+                block.lines.clear();
+                continue;
+            }
+            int tokens = block.tokens();
+            if (tokens <= remaining) {
+                remaining -= tokens;
+                continue;
+            }
+            List<String> kept = new ArrayList<>();
+            for (String line : block.lines) {
+                int lineTokens = estimateTokens(line) + 1;
+                if (lineTokens > remaining) {
+                    break;
+                }
+                kept.add(line);
+                remaining -= lineTokens;
+            }
+            // A heading with nothing under it is just noise
+            block.lines.clear();
+            if (kept.size() > 1 || block.section == Section.HEADER) {
+                block.lines.addAll(kept);
+            }
+            full = true;
+        }
+    }
+
+    private static Pattern heading(String alternatives) {
+        return Pattern.compile("(?i)^(" + alternatives + ")$");
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    private static final class Block {
+        private final Section section;
+        private final List<String> lines = new ArrayList<>();
+
+        Block(Section section) {
+            this.section = section;
+        }
+
+        int tokens() {
+            int tokens = 0;
+            for (String line : lines) {
+                tokens += estimateTokens(line) + 1;
+            }
+            return tokens;
+        }
+    }
+}
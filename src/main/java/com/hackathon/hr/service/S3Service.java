@@ -6,12 +6,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import javax.annotation.PostConstruct;
 import java.io.IOException;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class S3Service {
@@ -19,13 +22,17 @@ public class S3Service {
     private static final Logger logger = LoggerFactory.getLogger(S3Service.class);
     
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    private final DownstreamLimiter downstreamLimiter;
     
     // Read from environment variable first, then fall back to property
     @Value("${S3_BUCKET_NAME:${aws.s3.bucket-name:hr-hiring-resumes-js}}")
     private String bucketName;
     
-    public S3Service(S3Client s3Client) {
+    public S3Service(S3Client s3Client, S3AsyncClient s3AsyncClient, DownstreamLimiter downstreamLimiter) {
         this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
+        this.downstreamLimiter = downstreamLimiter;
     }
     
     @PostConstruct
@@ -37,25 +44,23 @@ public class S3Service {
     }
     
     public String uploadFile(MultipartFile file) throws IOException {
-        
-    	if (file.getSize() > 5 * 1024 * 1024) { // 5MB limit for Textract sync operations
-            throw new IllegalArgumentException("File size exceeds 5MB limit for Textract processing");
-        }
-        
-        if (!"application/pdf".equals(file.getContentType())) {
-            throw new IllegalArgumentException("Only PDF files are supported");
-        }
-    	String key = "resumes/" + UUID.randomUUID() + "-" + file.getOriginalFilename();
+        return uploadFile(file.getBytes(), file.getOriginalFilename(), file.getContentType());
+    }
+    
+    /**
+     * Upload a document already copied out of the request, for processing
+     * that outlives the multipart upload.
+     */
+    public String uploadFile(byte[] content, String fileName, String contentType) {
+        validate(content, contentType);
+    	String key = "resumes/" + UUID.randomUUID() + "-" + fileName;
         
         try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(file.getContentType())
-                    .build();
+            PutObjectRequest request = buildRequest(key, contentType);
                     
-            s3Client.putObject(request,
-                    RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            try (DownstreamLimiter.Permit permit = downstreamLimiter.acquire(DownstreamLimiter.Downstream.S3)) {
+                s3Client.putObject(request, RequestBody.fromBytes(content));
+            }
                     
             logger.info("File uploaded successfully to bucket {} with key: {}", bucketName, key);
             return key;
@@ -65,4 +70,46 @@ public class S3Service {
             throw new RuntimeException("Failed to upload file to bucket: " + bucketName, e);
         }
     }
+    
+    /**
+     * Non-blocking variant of {@link #uploadFile(byte[], String, String)};
+     * completes with the object key. Concurrency is bounded by the async
+     * client's connection pool rather than a permit.
+     */
+    public CompletableFuture<String> uploadFileAsync(byte[] content, String fileName, String contentType) {
+        try {
+            validate(content, contentType);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    	String key = "resumes/" + UUID.randomUUID() + "-" + fileName;
+        
+        return s3AsyncClient.putObject(buildRequest(key, contentType), AsyncRequestBody.fromBytes(content))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        logger.error("Error uploading file to S3 bucket: {}", bucketName, error);
+                        throw new RuntimeException("Failed to upload file to bucket: " + bucketName, error);
+                    }
+                    logger.info("File uploaded successfully to bucket {} with key: {}", bucketName, key);
+                    return key;
+                });
+    }
+    
+    private void validate(byte[] content, String contentType) {
+    	if (content.length > 5 * 1024 * 1024) { // 5MB limit for Textract sync operations
+            throw new IllegalArgumentException("File size exceeds 5MB limit for Textract processing");
+        }
+        
+        if (!"application/pdf".equals(contentType)) {
+            throw new IllegalArgumentException("Only PDF files are supported");
+        }
+    }
+    
+    private PutObjectRequest buildRequest(String key, String contentType) {
+        return PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+// src/main/java/com/hackathon/hr/service/ServiceCircuitBreakers.java
+package com.hackathon.hr.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import javax.annotation.PostConstruct;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Circuit breakers for the AWS services whose outages stall a request for a
+ * full SDK timeout: Bedrock and Textract. Only connection failures, timeouts
+ * and 5xx responses count; throttling is left to {@link BedrockRateLimiter}
+ * and bad documents are the caller's problem.
+ */
+@Component
+public class ServiceCircuitBreakers {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceCircuitBreakers.class);
+
+    @Value("${hr.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    // How long an open breaker refuses calls before letting a trial call through
+    @Value("${hr.circuit-breaker.open.ms:30000}")
+    private long openMillis;
+
+    @Value("${hr.circuit-breaker.half-open.calls:1}")
+    private int halfOpenCalls;
+
+    private final Map<DownstreamLimiter.Downstream, CircuitBreaker> breakers =
+            new EnumMap<>(DownstreamLimiter.Downstream.class);
+
+    @PostConstruct
+    public void init() {
+        breakers.put(DownstreamLimiter.Downstream.BEDROCK, new CircuitBreaker("Bedrock",
+                failureThreshold, openMillis, halfOpenCalls, ServiceCircuitBreakers::isOutage));
+        breakers.put(DownstreamLimiter.Downstream.TEXTRACT, new CircuitBreaker("Textract",
+                failureThreshold, openMillis, halfOpenCalls, ServiceCircuitBreakers::isOutage));
+        logger.info("Circuit breakers: open after {} consecutive failures for {}ms", failureThreshold, openMillis);
+    }
+
+    public CircuitBreaker get(DownstreamLimiter.Downstream downstream) {
+        CircuitBreaker breaker = breakers.get(downstream);
+        if (breaker == null) {
+            throw new IllegalArgumentException("No circuit breaker for " + downstream);
+        }
+        return breaker;
+    }
+
+    public boolean isAnyOpen() {
+        return breakers.values().stream().anyMatch(breaker -> breaker.getState() == CircuitBreaker.State.OPEN);
+    }
+
+    /**
+     * State of each breaker, keyed by lower-case service name.
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        breakers.forEach((downstream, breaker) ->
+                statistics.put(downstream.name().toLowerCase(), breaker.getStatistics()));
+        return statistics;
+    }
+
+    /**
+     * True for errors that say the service itself is unreachable or failing.
+     */
+    static boolean isOutage(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SdkServiceException) {
+                SdkServiceException serviceException = (SdkServiceException) t;
+                return !serviceException.isThrottlingException() && serviceException.statusCode() >= 500;
+            }
+            if (t instanceof SdkClientException) {
+                // Connection refused, DNS, API call and attempt timeouts
+                return true;
+            }
+        }
+        return false;
+    }
+}
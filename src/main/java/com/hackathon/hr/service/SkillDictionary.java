@@ -0,0 +1,94 @@
+// src/main/java/com/hackathon/hr/service/SkillDictionary.java
+package com.hackathon.hr.service;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns normalized skill names to dense int IDs so skill sets can be stored
+ * as bit vectors (long[]) and compared with popcount instead of string sets.
+ * IDs are never reused; vectors built at different times may differ in length.
+ */
+public class SkillDictionary {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public static String normalize(String skill) {
+        return skill == null ? "" : skill.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * ID for the skill, assigning a new one on first sight. Returns -1 for blank names.
+     */
+    public int intern(String skill) {
+        String normalized = normalize(skill);
+        if (normalized.isEmpty()) {
+            return -1;
+        }
+        return ids.computeIfAbsent(normalized, k -> nextId.getAndIncrement());
+    }
+
+    /**
+     * ID for the skill if already known, otherwise -1.
+     */
+    public int lookup(String skill) {
+        Integer id = ids.get(normalize(skill));
+        return id != null ? id : -1;
+    }
+
+    public int size() {
+        return nextId.get();
+    }
+
+    public long[] encode(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return EMPTY;
+        }
+
+        int[] skillIds = new int[skills.size()];
+        int maxId = -1;
+        int i = 0;
+        for (String skill : skills) {
+            int id = intern(skill);
+            skillIds[i++] = id;
+            maxId = Math.max(maxId, id);
+        }
+
+        long[] vector = new long[(maxId >> 6) + 1];
+        for (int id : skillIds) {
+            if (id >= 0) {
+                vector[id >> 6] |= 1L << id;
+            }
+        }
+        return vector;
+    }
+
+    // ========================================
+    // VECTOR OPERATIONS
+    // ========================================
+
+    public static boolean contains(long[] vector, int id) {
+        return vector != null && id >= 0 && (id >> 6) < vector.length && (vector[id >> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Number of skills present in both vectors: popcount(a AND b).
+     */
+    public static int countCommon(long[] a, long[] b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        int words = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+}
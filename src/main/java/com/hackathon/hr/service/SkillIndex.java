@@ -0,0 +1,77 @@
+// src/main/java/com/hackathon/hr/service/SkillIndex.java
+package com.hackathon.hr.service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Inverted index from skill ID (see {@link SkillDictionary}) to the IDs of
+ * candidates whose skill vector has that bit set.
+ */
+public class SkillIndex {
+
+    private final Map<Integer, Set<String>> postings = new ConcurrentHashMap<>();
+    private final Map<String, long[]> indexedVectors = new ConcurrentHashMap<>();
+
+    public synchronized void add(String candidateId, long[] skillVector) {
+        remove(candidateId);
+        if (skillVector == null) {
+            return;
+        }
+
+        indexedVectors.put(candidateId, skillVector);
+        forEachSkill(skillVector, skillId ->
+                postings.computeIfAbsent(skillId, k -> ConcurrentHashMap.newKeySet()).add(candidateId));
+    }
+
+    public synchronized void remove(String candidateId) {
+        long[] skillVector = indexedVectors.remove(candidateId);
+        if (skillVector == null) {
+            return;
+        }
+        forEachSkill(skillVector, skillId -> {
+            Set<String> ids = postings.get(skillId);
+            if (ids != null) {
+                ids.remove(candidateId);
+                if (ids.isEmpty()) {
+                    postings.remove(skillId);
+                }
+            }
+        });
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        indexedVectors.clear();
+    }
+
+    /**
+     * IDs of candidates sharing at least one skill with the given vector.
+     */
+    public Set<String> findCandidatesWithAnySkill(long[] skillVector) {
+        Set<String> result = new HashSet<>();
+        if (skillVector != null) {
+            forEachSkill(skillVector, skillId -> {
+                Set<String> ids = postings.get(skillId);
+                if (ids != null) {
+                    result.addAll(ids);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static void forEachSkill(long[] skillVector, IntConsumer action) {
+        for (int word = 0; word < skillVector.length; word++) {
+            long bits = skillVector[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                action.accept((word << 6) + bit);
+                bits &= bits - 1;
+            }
+        }
+    }
+}
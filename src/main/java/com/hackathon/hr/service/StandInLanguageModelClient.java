@@ -0,0 +1,321 @@
+// src/main/java/com/hackathon/hr/service/StandInLanguageModelClient.java
+package com.hackathon.hr.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for Bedrock, for load tests that must not spend model
+ * quota or need a network. Replies are schema-valid JSON built from the
+ * prompt (see {@link StandInResponses}) and arrive after a latency drawn
+ * from a configurable distribution plus a per-output-token cost. A
+ * configurable share of calls is throttled or fails with a 5xx, and calls
+ * past the profile's timeout fail with the SDK's timeout exception, so the
+ * rate limiter, circuit breaker, hedging and model failover all react as
+ * they would to Bedrock. Selected with {@code aws.bedrock.client=stand-in}.
+ */
+@Component
+@ConditionalOnProperty(name = "aws.bedrock.client", havingValue = "stand-in")
+public class StandInLanguageModelClient implements LanguageModelClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandInLanguageModelClient.class);
+
+    // z-score of the 99th percentile of a standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    // Characters per streamed chunk, about four tokens like Bedrock's deltas
+    private static final int CHUNK_CHARS = 16;
+
+    private enum Distribution { FIXED, UNIFORM, LOGNORMAL }
+
+    // fixed (always the median), uniform (min to 2 x median - min) or lognormal (median and p99)
+    @Value("${aws.bedrock.stand-in.latency.distribution:lognormal}")
+    private String distributionSetting;
+
+    // Time to first token
+    @Value("${aws.bedrock.stand-in.latency.median.ms:800}")
+    private long medianMs;
+
+    @Value("${aws.bedrock.stand-in.latency.p99.ms:4000}")
+    private long p99Ms;
+
+    @Value("${aws.bedrock.stand-in.latency.min.ms:100}")
+    private long minMs;
+
+    // Generation time for each output token after the first
+    @Value("${aws.bedrock.stand-in.latency.per-output-token.ms:10}")
+    private double perOutputTokenMs;
+
+    // Share of calls failing with a 500, which the circuit breaker counts as an outage
+    @Value("${aws.bedrock.stand-in.error-rate:0.0}")
+    private double errorRate;
+
+    // Share of calls throttled with a 429, which the rate limiter backs off from and retries
+    @Value("${aws.bedrock.stand-in.throttle-rate:0.0}")
+    private double throttleRate;
+
+    // Calls in flight beyond this are throttled, like an account quota; 0 for no limit
+    @Value("${aws.bedrock.stand-in.max-concurrency:0}")
+    private int maxConcurrency;
+
+    private final TaskExecutorFactory taskExecutorFactory;
+
+    private Distribution distribution;
+    private ScheduledExecutorService scheduler;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong streamedCalls = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public StandInLanguageModelClient(TaskExecutorFactory taskExecutorFactory) {
+        this.taskExecutorFactory = taskExecutorFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        distribution = Distribution.valueOf(distributionSetting.trim().toUpperCase(Locale.ROOT));
+        scheduler = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                taskExecutorFactory.schedulerThreadFactory("model-stand-in"));
+        logger.warn("Bedrock stand-in in use; no model will be called. Latency {} (median {}ms, p99 {}ms, min {}ms) "
+                        + "+ {}ms per output token, error rate {}, throttle rate {}, max concurrency {}",
+                distribution.name().toLowerCase(Locale.ROOT), medianMs, p99Ms, minMs, perOutputTokenMs,
+                errorRate, throttleRate, maxConcurrency > 0 ? maxConcurrency : "unlimited");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public String invoke(ModelProfile profile, String prompt) {
+        Outcome outcome = begin(profile, prompt);
+        try {
+            Thread.sleep(outcome.delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for AI model", e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        if (outcome.error != null) {
+            throw outcome.error;
+        }
+        return outcome.text;
+    }
+
+    @Override
+    public CompletableFuture<String> invokeAsync(ModelProfile profile, String prompt) {
+        Outcome outcome = begin(profile, prompt);
+        CompletableFuture<String> result = new CompletableFuture<>();
+        ScheduledFuture<?> reply = scheduler.schedule(() -> outcome.settle(result), outcome.delayMs, TimeUnit.MILLISECONDS);
+        result.whenComplete((ignored, error) -> {
+            reply.cancel(false);
+            inFlight.decrementAndGet();
+        });
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<String> invokeStream(ModelProfile profile, String prompt,
+                                                  Consumer<String> onText, BooleanSupplier stopWhen) {
+        streamedCalls.incrementAndGet();
+        Outcome outcome = begin(profile, prompt);
+        StreamedReply stream = new StreamedReply(outcome.text, onText, stopWhen);
+        // Failures arrive before any output; a reply starts at the first token
+        stream.next = outcome.error != null
+                ? scheduler.schedule(() -> outcome.settle(stream.result), outcome.delayMs, TimeUnit.MILLISECONDS)
+                : scheduler.schedule(stream::deliver, outcome.firstTokenMs, TimeUnit.MILLISECONDS);
+        stream.result.whenComplete((ignored, error) -> {
+            stream.next.cancel(false);
+            inFlight.decrementAndGet();
+        });
+        return stream.result;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("client", "stand-in");
+        statistics.put("latencyDistribution", distribution.name().toLowerCase(Locale.ROOT));
+        statistics.put("medianMs", medianMs);
+        statistics.put("p99Ms", p99Ms);
+        statistics.put("perOutputTokenMs", perOutputTokenMs);
+        statistics.put("errorRate", errorRate);
+        statistics.put("throttleRate", throttleRate);
+        statistics.put("maxConcurrency", maxConcurrency);
+        statistics.put("inFlight", inFlight.get());
+        statistics.put("calls", calls.get());
+        statistics.put("streamedCalls", streamedCalls.get());
+        statistics.put("throttled", throttled.get());
+        statistics.put("errors", errors.get());
+        statistics.put("timeouts", timeouts.get());
+        return statistics;
+    }
+
+    // ========================================
+    // OUTCOMES
+    // ========================================
+
+    /**
+     * Decide up front how this call ends and when. Counts the call as in
+     * flight; the caller releases it once the outcome has been delivered.
+     */
+    private Outcome begin(ModelProfile profile, String prompt) {
+        calls.incrementAndGet();
+        int running = inFlight.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+
+        if ((maxConcurrency > 0 && running > maxConcurrency) || roll < throttleRate) {
+            throttled.incrementAndGet();
+            return Outcome.failure(minMs, serviceError(429, "ThrottlingException",
+                    "Too many requests, please wait before trying again."));
+        }
+        long firstTokenMs = sampleLatency(random);
+        if (roll < throttleRate + errorRate) {
+            errors.incrementAndGet();
+            return Outcome.failure(firstTokenMs, serviceError(500, "InternalServerException",
+                    "The server encountered an internal error."));
+        }
+
+        String text = StandInResponses.respond(prompt);
+        int outputTokens = Math.min(profile.getMaxTokens(), ResumeTextCompactor.estimateTokens(text));
+        long totalMs = firstTokenMs + Math.round(Math.max(0, outputTokens - 1) * perOutputTokenMs);
+        long timeoutMs = profile.getTimeout().toMillis();
+        if (totalMs > timeoutMs) {
+            timeouts.incrementAndGet();
+            return Outcome.failure(timeoutMs, ApiCallTimeoutException.create(timeoutMs));
+        }
+        return new Outcome(totalMs, firstTokenMs, text, null);
+    }
+
+    private long sampleLatency(ThreadLocalRandom random) {
+        double sample;
+        switch (distribution) {
+            case UNIFORM:
+                sample = minMs + random.nextDouble() * 2 * Math.max(0, medianMs - minMs);
+                break;
+            case LOGNORMAL:
+                double sigma = p99Ms > medianMs ? Math.log((double) p99Ms / medianMs) / Z_99 : 0.0;
+                sample = medianMs * Math.exp(sigma * random.nextGaussian());
+                break;
+            default:
+                sample = medianMs;
+        }
+        return Math.max(minMs, Math.round(sample));
+    }
+
+    private static AwsServiceException serviceError(int statusCode, String errorCode, String message) {
+        return AwsServiceException.builder()
+                .message(message + " (stand-in)")
+                .statusCode(statusCode)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .serviceName("BedrockRuntime")
+                        .errorCode(errorCode)
+                        .errorMessage(message)
+                        .build())
+                .build();
+    }
+
+    // ========================================
+    // INNER CLASSES
+    // ========================================
+
+    private static class Outcome {
+        private final long delayMs;
+        private final long firstTokenMs;
+        private final String text;
+        private final RuntimeException error;
+
+        Outcome(long delayMs, long firstTokenMs, String text, RuntimeException error) {
+            this.delayMs = delayMs;
+            this.firstTokenMs = firstTokenMs;
+            this.text = text;
+            this.error = error;
+        }
+
+        static Outcome failure(long delayMs, RuntimeException error) {
+            return new Outcome(delayMs, delayMs, "", error);
+        }
+
+        void settle(CompletableFuture<String> result) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(text);
+            }
+        }
+    }
+
+    /**
+     * A reply handed out in chunks at the per-token rate, stopping as soon
+     * as the caller has what it needs.
+     */
+    private class StreamedReply {
+        private final String text;
+        private final Consumer<String> onText;
+        private final BooleanSupplier stopWhen;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private volatile ScheduledFuture<?> next;
+        private int offset;
+
+        StreamedReply(String text, Consumer<String> onText, BooleanSupplier stopWhen) {
+            this.text = text;
+            this.onText = onText;
+            this.stopWhen = stopWhen;
+        }
+
+        void deliver() {
+            if (result.isDone()) {
+                return;
+            }
+            int end = Math.min(text.length(), offset + CHUNK_CHARS);
+            try {
+                if (end > offset) {
+                    onText.accept(text.substring(offset, end));
+                }
+                offset = end;
+                if (stopWhen.getAsBoolean()) {
+                    result.complete(text.substring(0, offset));
+                    return;
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (offset >= text.length()) {
+                result.complete(text);
+                return;
+            }
+            long chunkMicros = Math.round(perOutputTokenMs * 1000 * CHUNK_CHARS / 4);
+            next = scheduler.schedule(this::deliver, chunkMicros, TimeUnit.MICROSECONDS);
+        }
+    }
+}
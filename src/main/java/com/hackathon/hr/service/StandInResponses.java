@@ -0,0 +1,326 @@
+// src/main/java/com/hackathon/hr/service/StandInResponses.java
+package com.hackathon.hr.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Model replies for {@link StandInLanguageModelClient}, built from the
+ * prompt itself: resume prompts get the skills, experience and education a
+ * keyword scan finds in the resume text, match prompts a score and a
+ * justification from the overlap of required and candidate skills. Every
+ * reply is valid JSON in the shape its prompt asks for, so the parsing code
+ * downstream runs exactly as it does against Bedrock.
+ */
+final class StandInResponses {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final List<String> LANGUAGES = List.of("Java", "Python", "JavaScript", "TypeScript", "Go",
+            "C#", "C++", "Kotlin", "Scala", "Ruby", "PHP", "Rust", "Swift", "SQL");
+    private static final List<String> FRAMEWORKS = List.of("Spring Boot", "Hibernate", "React", "Angular", "Vue",
+            "Node.js", "Express", "Django", "Flask", ".NET", "TensorFlow", "PyTorch");
+    private static final List<String> DATABASES = List.of("PostgreSQL", "MySQL", "MongoDB", "Redis", "Oracle",
+            "DynamoDB", "Cassandra", "Elasticsearch");
+    private static final List<String> CLOUD_PLATFORMS = List.of("AWS", "Azure", "GCP", "Google Cloud");
+    private static final List<String> TOOLS = List.of("Docker", "Kubernetes", "Git", "Jenkins", "Terraform",
+            "Kafka", "Jira", "Linux", "Maven", "Gradle");
+    private static final List<String> SOFT_SKILLS = List.of("Leadership", "Communication", "Teamwork",
+            "Problem Solving", "Mentoring", "Collaboration");
+    private static final Map<String, String> INDUSTRIES = new LinkedHashMap<>();
+    private static final Map<String, Pattern> KEYWORDS = new LinkedHashMap<>();
+
+    private static final Pattern YEARS = Pattern.compile("(\\d{1,2})\\+?\\s*(?:years|yrs)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DEGREE = Pattern.compile(
+            "ph\\.?d|doctor|master|m\\.s\\.|mba|bachelor|b\\.s\\.|b\\.tech|degree", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BATCH_LINE = Pattern.compile("^C(\\d+) \\| (.*) \\| (.*) \\| (.*)$");
+    private static final String[] LEVELS = { "ENTRY", "MID", "SENIOR" };
+
+    // Most names a justification lists before "and others"
+    private static final int NAMES_SHOWN = 5;
+
+    static {
+        INDUSTRIES.put("bank|fintech|financ", "Finance");
+        INDUSTRIES.put("health|hospital|clinic", "Healthcare");
+        INDUSTRIES.put("e-commerce|ecommerce|retail", "E-commerce");
+        INDUSTRIES.put("telecom", "Telecommunications");
+        INDUSTRIES.put("insurance", "Insurance");
+        INDUSTRIES.put("edtech|e-learning|teaching", "Education");
+        List<String> all = new ArrayList<>();
+        all.addAll(LANGUAGES);
+        all.addAll(FRAMEWORKS);
+        all.addAll(DATABASES);
+        all.addAll(CLOUD_PLATFORMS);
+        all.addAll(TOOLS);
+        all.addAll(SOFT_SKILLS);
+        for (String name : all) {
+            // Two-letter names (Go, C#) only count with their capitals
+            int flags = name.length() <= 2 ? 0 : Pattern.CASE_INSENSITIVE;
+            KEYWORDS.put(name, Pattern.compile("(?<![A-Za-z0-9])" + Pattern.quote(name) + "(?![A-Za-z0-9+#])", flags));
+        }
+        INDUSTRIES.keySet().forEach(keys -> KEYWORDS.put(keys, Pattern.compile(keys, Pattern.CASE_INSENSITIVE)));
+    }
+
+    private StandInResponses() {
+    }
+
+    /**
+     * Reply to one of CandidateService's prompts; "{}" for anything else.
+     */
+    static String respond(String prompt) {
+        if (prompt.contains("Candidates (ID | skills")) {
+            return batchMatch(prompt);
+        }
+        if (prompt.contains("Rate this candidate")) {
+            return match(prompt);
+        }
+        int resumeStart = prompt.indexOf("Resume Text:");
+        if (resumeStart >= 0) {
+            String resume = prompt.substring(resumeStart + "Resume Text:".length());
+            // The enhanced and structured prompts ask for the full field set
+            return analysis(resume, prompt.contains("\"summary\""));
+        }
+        return "{}";
+    }
+
+    // ========================================
+    // RESUME ANALYSIS
+    // ========================================
+
+    private static String analysis(String resume, boolean detailed) {
+        List<String> languages = find(resume, LANGUAGES);
+        List<String> frameworks = find(resume, FRAMEWORKS);
+        List<String> databases = find(resume, DATABASES);
+        List<String> cloudPlatforms = find(resume, CLOUD_PLATFORMS);
+        List<String> tools = find(resume, TOOLS);
+        Set<String> technical = new LinkedHashSet<>();
+        technical.addAll(languages);
+        technical.addAll(frameworks);
+        technical.addAll(databases);
+        technical.addAll(cloudPlatforms);
+        technical.addAll(tools);
+        List<String> technicalSkills = new ArrayList<>(technical).subList(0, Math.min(15, technical.size()));
+        List<String> softSkills = find(resume, SOFT_SKILLS);
+
+        int years = 0;
+        Matcher matcher = YEARS.matcher(resume);
+        while (matcher.find()) {
+            years = Math.max(years, Integer.parseInt(matcher.group(1)));
+        }
+        String level = years >= 7 ? "SENIOR" : years >= 3 ? "MID" : "ENTRY";
+
+        String education = "Not specified";
+        List<String> certifications = new ArrayList<>();
+        List<String> achievements = new ArrayList<>();
+        for (String rawLine : resume.split("\n")) {
+            String line = rawLine.trim();
+            if (line.isEmpty() || line.length() > 160) {
+                continue;
+            }
+            if (education.equals("Not specified") && DEGREE.matcher(line).find()) {
+                education = line;
+            }
+            if (certifications.size() < 5 && line.toLowerCase(Locale.ROOT).contains("certified")) {
+                certifications.add(line);
+            }
+            if (achievements.size() < 3 && line.contains("%")) {
+                achievements.add(line);
+            }
+        }
+        List<String> industries = new ArrayList<>();
+        INDUSTRIES.forEach((keys, industry) -> {
+            if (KEYWORDS.get(keys).matcher(resume).find()) {
+                industries.add(industry);
+            }
+        });
+
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("technical_skills", technicalSkills);
+        if (!detailed) {
+            reply.put("soft_skills", softSkills);
+        }
+        reply.put("experience_level", level);
+        if (!detailed) {
+            reply.put("education", education);
+        }
+        reply.put("years_of_experience", years);
+        if (detailed) {
+            reply.put("education", education);
+            reply.put("soft_skills", softSkills);
+            reply.put("programming_languages", languages);
+            reply.put("frameworks", frameworks);
+            reply.put("databases", databases);
+            reply.put("cloud_platforms", cloudPlatforms);
+            reply.put("tools", tools);
+        }
+        reply.put("certifications", certifications);
+        reply.put("industries", industries);
+        if (detailed) {
+            reply.put("key_achievements", achievements);
+            reply.put("summary", String.format(Locale.ROOT, "%s-level professional with %d years of experience%s.",
+                    level.charAt(0) + level.substring(1).toLowerCase(Locale.ROOT), years,
+                    technicalSkills.isEmpty() ? "" : " in " + names(technicalSkills.subList(0, Math.min(3, technicalSkills.size())))));
+        }
+        return toJson(reply);
+    }
+
+    private static List<String> find(String text, List<String> names) {
+        List<String> found = new ArrayList<>();
+        for (String name : names) {
+            if (KEYWORDS.get(name).matcher(text).find()) {
+                found.add(name);
+            }
+        }
+        return found;
+    }
+
+    // ========================================
+    // MATCHING
+    // ========================================
+
+    private static String match(String prompt) {
+        Map<String, Object> reply = score(skillList(field(prompt, "Required Skills:")),
+                field(prompt, "Required Experience:"),
+                skillList(field(prompt, "Candidate Skills:")),
+                field(prompt, "Candidate Experience:"),
+                field(prompt, "Candidate Education:"));
+        return toJson(reply);
+    }
+
+    private static String batchMatch(String prompt) {
+        List<String> required = skillList(field(prompt, "Required Skills:"));
+        String requiredLevel = field(prompt, "Required Experience:");
+        List<Map<String, Object>> reply = new ArrayList<>();
+        for (String rawLine : prompt.split("\n")) {
+            Matcher line = BATCH_LINE.matcher(rawLine.trim());
+            if (line.matches()) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("candidateId", "C" + line.group(1));
+                entry.putAll(score(required, requiredLevel, skillList(line.group(2)), line.group(3), line.group(4)));
+                reply.add(entry);
+            }
+        }
+        return toJson(reply);
+    }
+
+    /**
+     * Score with the prompts' weights: skills 40, experience 30, education
+     * 20, overall fit 10.
+     */
+    private static Map<String, Object> score(List<String> required, String requiredLevel,
+                                             List<String> skills, String level, String education) {
+        Set<String> has = new LinkedHashSet<>();
+        skills.forEach(skill -> has.add(SkillDictionary.normalize(skill)));
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String skill : required) {
+            (has.contains(SkillDictionary.normalize(skill)) ? matched : missing).add(skill);
+        }
+        double skillFit = required.isEmpty() ? 1.0 : (double) matched.size() / required.size();
+
+        int candidateRank = rank(level);
+        int requiredRank = rank(requiredLevel);
+        double experienceFit;
+        String experience;
+        if (candidateRank < 0 || requiredRank < 0) {
+            experienceFit = 0.5;
+            experience = "experience level could not be compared";
+        } else if (candidateRank >= requiredRank) {
+            experienceFit = 1.0;
+            experience = LEVELS[candidateRank] + " experience "
+                    + (candidateRank == requiredRank ? "matches" : "exceeds") + " the " + LEVELS[requiredRank] + " requirement";
+        } else {
+            experienceFit = candidateRank == requiredRank - 1 ? 0.5 : 0.0;
+            experience = LEVELS[candidateRank] + " experience is below the " + LEVELS[requiredRank] + " requirement";
+        }
+        boolean hasEducation = education != null && !education.isBlank()
+                && !education.equals("Not specified") && !education.equals("null");
+        double educationFit = hasEducation ? 1.0 : 0.3;
+
+        long score = Math.round(40 * skillFit + 30 * experienceFit + 20 * educationFit + 5 * (skillFit + experienceFit));
+
+        String skillsPart;
+        if (required.isEmpty()) {
+            skillsPart = "No specific skills required";
+        } else if (missing.isEmpty()) {
+            skillsPart = "Has all required skills (" + names(matched) + ")";
+        } else if (matched.isEmpty()) {
+            skillsPart = "Has none of the required skills, lacking " + names(missing);
+        } else {
+            skillsPart = "Has " + names(matched) + " but lacks " + names(missing);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("score", Math.max(0, Math.min(100, score)));
+        result.put("justification", skillsPart + "; " + experience + ".");
+        return result;
+    }
+
+    private static int rank(String level) {
+        if (level == null) {
+            return -1;
+        }
+        String upper = level.toUpperCase(Locale.ROOT);
+        for (int i = LEVELS.length - 1; i >= 0; i--) {
+            if (upper.contains(LEVELS[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    /**
+     * Rest of the first line starting with {@code label}, or "".
+     */
+    private static String field(String prompt, String label) {
+        for (String line : prompt.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith(label)) {
+                return trimmed.substring(label.length()).trim();
+            }
+        }
+        return "";
+    }
+
+    private static List<String> skillList(String value) {
+        List<String> skills = new ArrayList<>();
+        for (String skill : value.split(",")) {
+            String trimmed = skill.trim();
+            if (!trimmed.isEmpty() && !trimmed.equals("None")) {
+                skills.add(trimmed);
+            }
+        }
+        return skills;
+    }
+
+    private static String names(List<String> names) {
+        List<String> shown = names.subList(0, Math.min(NAMES_SHOWN, names.size()));
+        String list = shown.size() == 1 ? shown.get(0)
+                : String.join(", ", shown.subList(0, shown.size() - 1)) + " and " + shown.get(shown.size() - 1);
+        return names.size() > NAMES_SHOWN ? String.join(", ", shown) + " and others" : list;
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            // Maps of strings, numbers and lists; only reachable on a mapper bug
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+// src/main/java/com/hackathon/hr/service/StreamingJsonObject.java
+package com.hackathon.hr.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Follows the JSON object in a streamed model response as the text arrives,
+ * using Jackson's non-blocking parser. It records which top-level fields
+ * are complete, so the caller can stop the stream once the fields it needs
+ * are in, and can hand one string field to a listener while the model is
+ * still writing it. Text before the first '{' (prose, code fences) is
+ * ignored.
+ */
+public class StreamingJsonObject {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Set<String> requiredFields;
+    private final Set<String> completedFields = new LinkedHashSet<>();
+    private final ByteArrayOutputStream json = new ByteArrayOutputStream();
+
+    private JsonParser parser;
+    private ByteArrayFeeder feeder;
+    private int depth;
+    private String currentField;
+    // Byte offset just past the last complete top-level value
+    private long lastValueEnd = -1;
+    private boolean closed;
+    private boolean failed;
+
+    private String watchedField;
+    private Consumer<String> watchedListener;
+    private long watchedFrom = -1;
+    private int watchedEmitted;
+    // Raw watched text received but not yet decoded: at most a partial escape once the value has opened
+    private final StringBuilder watchedPending = new StringBuilder();
+    private boolean watchedCapturing;
+    private boolean watchedOpened;
+
+    /**
+     * @param requiredFields top-level fields after which the object counts
+     *                       as complete; with none, only the closing brace does
+     */
+    public StreamingJsonObject(String... requiredFields) {
+        this.requiredFields = new LinkedHashSet<>(Arrays.asList(requiredFields));
+    }
+
+    /**
+     * Pass the text of one top-level string field to {@code listener} in
+     * pieces as it is generated. The pieces concatenate to the field's value.
+     */
+    public StreamingJsonObject watch(String field, Consumer<String> listener) {
+        this.watchedField = field;
+        this.watchedListener = listener;
+        return this;
+    }
+
+    /**
+     * Feed the next piece of model output.
+     */
+    public void append(String text) {
+        if (closed || failed || text == null || text.isEmpty()) {
+            return;
+        }
+        if (parser == null) {
+            int start = text.indexOf('{');
+            if (start == -1) {
+                return;
+            }
+            text = text.substring(start);
+            try {
+                parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                failed = true;
+                return;
+            }
+            feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        json.write(bytes, 0, bytes.length);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!closed && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                onToken(token);
+            }
+        } catch (IOException e) {
+            // Not well-formed; the caller falls back to parsing the whole response
+            failed = true;
+            return;
+        }
+        emitWatchedText(bytes);
+    }
+
+    /**
+     * True once the object is closed, or every required field is complete.
+     */
+    public boolean isComplete() {
+        return closed || (!failed && !requiredFields.isEmpty() && completedFields.containsAll(requiredFields));
+    }
+
+    /**
+     * True if the text stopped being valid JSON; the fields seen so far are
+     * then all this object knows.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public Set<String> getCompletedFields() {
+        return Collections.unmodifiableSet(completedFields);
+    }
+
+    /**
+     * The object up to its last complete top-level field, closed, or null if
+     * no field has completed yet.
+     */
+    public String getJson() {
+        if (lastValueEnd < 0) {
+            return null;
+        }
+        String text = new String(json.toByteArray(), 0, (int) lastValueEnd, StandardCharsets.UTF_8).stripTrailing();
+        if (closed) {
+            return text;
+        }
+        while (text.endsWith(",")) {
+            text = text.substring(0, text.length() - 1).stripTrailing();
+        }
+        return text + "}";
+    }
+
+    // ========================================
+    // PARSING
+    // ========================================
+
+    private void onToken(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY:
+                depth++;
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                if (depth == 1) {
+                    completeField();
+                } else if (depth == 0) {
+                    lastValueEnd = offset();
+                    closed = true;
+                }
+                break;
+            case FIELD_NAME:
+                if (depth == 1) {
+                    currentField = parser.getCurrentName();
+                    if (currentField.equals(watchedField)) {
+                        watchedFrom = offset();
+                    }
+                }
+                break;
+            default:
+                // Scalar value
+                if (depth == 1) {
+                    if (token == JsonToken.VALUE_STRING && currentField != null && currentField.equals(watchedField)) {
+                        emitRemaining(parser.getText());
+                    }
+                    completeField();
+                }
+                break;
+        }
+    }
+
+    private void completeField() {
+        if (currentField != null) {
+            completedFields.add(currentField);
+            if (currentField.equals(watchedField)) {
+                stopWatching();
+            }
+        }
+        lastValueEnd = offset();
+    }
+
+    private long offset() {
+        return parser.getCurrentLocation().getByteOffset();
+    }
+
+    // ========================================
+    // WATCHED FIELD
+    // ========================================
+
+    /**
+     * Decode the part of the watched string value in this chunk, which the
+     * parser only reports once it is complete, and pass it on. Only the new
+     * chunk is decoded; an escape split across chunks waits in
+     * {@code watchedPending} for the rest.
+     */
+    private void emitWatchedText(byte[] chunk) {
+        if (watchedFrom < 0 || watchedListener == null) {
+            return;
+        }
+        if (watchedCapturing) {
+            watchedPending.append(new String(chunk, StandardCharsets.UTF_8));
+        } else {
+            // The field name ends inside the chunk that produced it
+            long chunkStart = json.size() - chunk.length;
+            int from = (int) Math.max(0, watchedFrom - chunkStart);
+            watchedPending.append(new String(chunk, from, chunk.length - from, StandardCharsets.UTF_8));
+            watchedCapturing = true;
+        }
+
+        String tail = watchedPending.toString();
+        int i = 0;
+        if (!watchedOpened) {
+            while (i < tail.length() && (Character.isWhitespace(tail.charAt(i)) || tail.charAt(i) == ':')) {
+                i++;
+            }
+            if (i >= tail.length()) {
+                watchedPending.setLength(0);
+                return;
+            }
+            if (tail.charAt(i) != '"') {
+                // Not a string value; nothing to stream
+                stopWatching();
+                return;
+            }
+            watchedOpened = true;
+            i++;
+        }
+
+        StringBuilder piece = new StringBuilder();
+        for (; i < tail.length(); i++) {
+            char c = tail.charAt(i);
+            if (c == '"') {
+                break;
+            }
+            if (c != '\\') {
+                piece.append(c);
+                continue;
+            }
+            // Escape sequence; stop before one that has not fully arrived
+            if (i + 1 >= tail.length()) {
+                break;
+            }
+            char escaped = tail.charAt(i + 1);
+            if (escaped == 'u') {
+                if (i + 6 > tail.length()) {
+                    break;
+                }
+                try {
+                    piece.append((char) Integer.parseInt(tail.substring(i + 2, i + 6), 16));
+                } catch (NumberFormatException e) {
+                    break;
+                }
+                i += 5;
+                continue;
+            }
+            piece.append(unescape(escaped));
+            i++;
+        }
+        watchedPending.delete(0, i);
+        if (piece.length() > 0) {
+            watchedEmitted += piece.length();
+            watchedListener.accept(piece.toString());
+        }
+    }
+
+    private void stopWatching() {
+        watchedFrom = -1;
+        watchedPending.setLength(0);
+        watchedCapturing = false;
+        watchedOpened = false;
+    }
+
+    private void emitRemaining(String value) {
+        if (watchedListener != null && value.length() > watchedEmitted) {
+            String piece = value.substring(watchedEmitted);
+            watchedEmitted = value.length();
+            watchedListener.accept(piece);
+        }
+    }
+
+    private static char unescape(char escaped) {
+        switch (escaped) {
+            case 'n': return '\n';
+            case 't': return '\t';
+            case 'r': return '\r';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            default: return escaped;
+        }
+    }
+}
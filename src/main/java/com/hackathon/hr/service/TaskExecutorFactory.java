@@ -0,0 +1,73 @@
+// src/main/java/com/hackathon/hr/service/TaskExecutorFactory.java
+package com.hackathon.hr.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors used for blocking I/O work (resume ingestion, AI
+ * matching, email). In virtual-thread mode every task gets its own virtual
+ * thread and the pool sizes are ignored; concurrency towards each remote
+ * service is then bounded by {@link DownstreamLimiter} instead.
+ */
+@Component
+public class TaskExecutorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskExecutorFactory.class);
+
+    @Value("${hr.execution.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    public void init() {
+        logger.info("Blocking task execution mode: {}", virtualThreads ? "virtual threads" : "platform thread pools");
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @param platformThreads pool size when running on platform threads
+     */
+    public ExecutorService newExecutor(String name, int platformThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(threadFactory(name));
+        }
+        return Executors.newFixedThreadPool(Math.max(1, platformThreads), threadFactory(name));
+    }
+
+    public ThreadFactory threadFactory(String name) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(name + "-", 1).factory();
+        }
+        return platformThreadFactory(name);
+    }
+
+    /**
+     * Platform daemon threads in either mode, for scheduled executors: their
+     * few long-lived threads only run short timer callbacks, so virtual
+     * threads buy nothing there.
+     */
+    public ThreadFactory schedulerThreadFactory(String name) {
+        return platformThreadFactory(name);
+    }
+
+    private static ThreadFactory platformThreadFactory(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
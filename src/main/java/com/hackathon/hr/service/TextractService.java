@@ -7,10 +7,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.hackathon.hr.exception.DocumentProcessingException;
+import com.hackathon.hr.exception.ServiceDegradedException;
 import com.hackathon.hr.exception.UnsupportedDocumentFormatException;
 
+import software.amazon.awssdk.services.textract.TextractAsyncClient;
 import software.amazon.awssdk.services.textract.TextractClient;
 import software.amazon.awssdk.services.textract.model.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 
@@ -20,13 +24,20 @@ public class TextractService {
     private static final Logger logger = LoggerFactory.getLogger(TextractService.class);
     
     private final TextractClient textractClient;
+    private final TextractAsyncClient textractAsyncClient;
+    private final DownstreamLimiter downstreamLimiter;
+    private final CircuitBreaker circuitBreaker;
     
     // Read from environment variable first, then fall back to property
     @Value("${S3_BUCKET_NAME:${aws.s3.bucket-name:hr-hiring-resumes-js}}")
     private String bucketName;
     
-    public TextractService(TextractClient textractClient) {
+    public TextractService(TextractClient textractClient, TextractAsyncClient textractAsyncClient,
+                           DownstreamLimiter downstreamLimiter, ServiceCircuitBreakers circuitBreakers) {
         this.textractClient = textractClient;
+        this.textractAsyncClient = textractAsyncClient;
+        this.downstreamLimiter = downstreamLimiter;
+        this.circuitBreaker = circuitBreakers.get(DownstreamLimiter.Downstream.TEXTRACT);
     }
     
     @PostConstruct
@@ -37,38 +48,92 @@ public class TextractService {
         }
     }
     
+    /**
+     * False while the Textract circuit breaker is open.
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+    
+    /**
+     * @throws ServiceDegradedException if the circuit breaker is open
+     */
     public String extractText(String s3Key) {
+        circuitBreaker.acquirePermission();
         try {
             logger.info("Extracting text from s3://{}/{}", bucketName, s3Key);
             
-            // Use synchronous processing only (no async to avoid permission issues)
-            DetectDocumentTextRequest request = DetectDocumentTextRequest.builder()
-                    .document(Document.builder()
-                            .s3Object(S3Object.builder()
-                                    .bucket(bucketName)
-                                    .name(s3Key)
-                                    .build())
-                            .build())
-                    .build();
-                    
-            DetectDocumentTextResponse response = textractClient.detectDocumentText(request);
+            DetectDocumentTextResponse response;
+            try (DownstreamLimiter.Permit permit = downstreamLimiter.acquire(DownstreamLimiter.Downstream.TEXTRACT)) {
+                response = textractClient.detectDocumentText(buildRequest(s3Key));
+            }
+            circuitBreaker.onSuccess();
+            return joinLines(s3Key, response);
             
-            String extractedText = response.blocks().stream()
-                    .filter(block -> block.blockType() == BlockType.LINE)
-                    .map(Block::text)
-                    .collect(Collectors.joining("\n"));
-                    
-            logger.info("Text extracted successfully from: {} (extracted {} lines)", 
-                s3Key, 
-                response.blocks().stream().filter(block -> block.blockType() == BlockType.LINE).count());
+        } catch (Exception e) {
+            circuitBreaker.onError(e);
+            throw translateError(s3Key, e);
+        }
+    }
+    
+    /**
+     * Non-blocking variant of {@link #extractText}: completes with the text or
+     * with the same exceptions the synchronous call throws. Concurrency is
+     * bounded by the async client's connection pool rather than a permit.
+     */
+    public CompletableFuture<String> extractTextAsync(String s3Key) {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (ServiceDegradedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        logger.info("Extracting text (async) from s3://{}/{}", bucketName, s3Key);
+        
+        return textractAsyncClient.detectDocumentText(buildRequest(s3Key))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        circuitBreaker.onError(cause);
+                        throw translateError(s3Key, cause);
+                    }
+                    circuitBreaker.onSuccess();
+                    return joinLines(s3Key, response);
+                });
+    }
+    
+    private DetectDocumentTextRequest buildRequest(String s3Key) {
+        // Use synchronous processing only (no async to avoid permission issues)
+        return DetectDocumentTextRequest.builder()
+                .document(Document.builder()
+                        .s3Object(S3Object.builder()
+                                .bucket(bucketName)
+                                .name(s3Key)
+                                .build())
+                        .build())
+                .build();
+    }
+    
+    private String joinLines(String s3Key, DetectDocumentTextResponse response) {
+        String extractedText = response.blocks().stream()
+                .filter(block -> block.blockType() == BlockType.LINE)
+                .map(Block::text)
+                .collect(Collectors.joining("\n"));
                 
-            return extractedText;
+        logger.info("Text extracted successfully from: {} (extracted {} lines)", 
+            s3Key, 
+            response.blocks().stream().filter(block -> block.blockType() == BlockType.LINE).count());
             
-        } catch (UnsupportedDocumentException e) {
+        return extractedText;
+    }
+    
+    private RuntimeException translateError(String s3Key, Throwable e) {
+        String fileName = s3Key.substring(s3Key.lastIndexOf('/') + 1);
+        
+        if (e instanceof UnsupportedDocumentException) {
             logger.error("Unsupported document format for s3://{}/{}", bucketName, s3Key, e);
             
             // Create a user-friendly error with specific suggestions
-            String fileName = s3Key.substring(s3Key.lastIndexOf('/') + 1);
             String userFriendlyError = String.format(
                 "The PDF file '%s' has an unsupported format. " +
                 "Please try one of these solutions:\n\n" +
@@ -80,37 +145,35 @@ public class TextractService {
                 fileName
             );
             
-            throw new UnsupportedDocumentFormatException(userFriendlyError, e);
+            return new UnsupportedDocumentFormatException(userFriendlyError, e);
             
-        } catch (AccessDeniedException e) {
+        } else if (e instanceof AccessDeniedException) {
             logger.error("Access denied for Textract operation on s3://{}/{}", bucketName, s3Key, e);
-            throw new DocumentProcessingException("PROCESSING_ERROR: Access denied - please contact system administrator. The application doesn't have required AWS permissions.", e);
+            return new DocumentProcessingException("PROCESSING_ERROR: Access denied - please contact system administrator. The application doesn't have required AWS permissions.", e);
             
-        } catch (InvalidS3ObjectException e) {
+        } else if (e instanceof InvalidS3ObjectException) {
             logger.error("Invalid S3 object for s3://{}/{}", bucketName, s3Key, e);
             
-            String fileName = s3Key.substring(s3Key.lastIndexOf('/') + 1);
-            throw new DocumentProcessingException(String.format(
+            return new DocumentProcessingException(String.format(
                 "PROCESSING_ERROR: Unable to access '%s' from S3. Please ensure the file was uploaded correctly and try again.",
                 fileName
             ), e);
             
-        } catch (TextractException e) {
+        } else if (e instanceof TextractException) {
             logger.error("Textract service error for s3://{}/{}", bucketName, s3Key, e);
             
-            String fileName = s3Key.substring(s3Key.lastIndexOf('/') + 1);
-            String errorCode = e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : "Unknown";
+            TextractException textractError = (TextractException) e;
+            String errorCode = textractError.awsErrorDetails() != null ? textractError.awsErrorDetails().errorCode() : "Unknown";
             
             // Provide specific guidance based on error type
             String suggestion = getSuggestionForTextractError(errorCode, fileName);
-            throw new DocumentProcessingException(suggestion, e);
-            
-        } catch (Exception e) {
-            // For any other unexpected errors, log and re-throw without wrapping
-            logger.error("Unexpected error extracting text from document s3://{}/{}", bucketName, s3Key, e);
-            throw new RuntimeException("Failed to extract text from document: " + s3Key + 
-                ". Please ensure the file is a valid PDF and try again.", e);
+            return new DocumentProcessingException(suggestion, e);
         }
+        
+        // For any other unexpected errors, log and re-throw without wrapping
+        logger.error("Unexpected error extracting text from document s3://{}/{}", bucketName, s3Key, e);
+        return new RuntimeException("Failed to extract text from document: " + s3Key + 
+            ". Please ensure the file is a valid PDF and try again.", e);
     }
     
     private String getSuggestionForTextractError(String errorCode, String fileName) {
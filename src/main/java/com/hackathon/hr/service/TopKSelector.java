@@ -0,0 +1,50 @@
+// src/main/java/com/hackathon/hr/service/TopKSelector.java
+package com.hackathon.hr.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded min-heap selection of the best K items: O(n log k) time and O(k)
+ * space instead of sorting the whole input.
+ */
+public final class TopKSelector<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k     number of items to keep
+     * @param order ranking order, best first
+     */
+    public TopKSelector(int k, Comparator<? super T> order) {
+        this.k = k;
+        this.order = order;
+        // Heap head is the worst item kept so far
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), order.reversed());
+    }
+
+    public void offer(T item) {
+        if (k <= 0) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(item);
+        } else if (order.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    /**
+     * Kept items, best first.
+     */
+    public List<T> result() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
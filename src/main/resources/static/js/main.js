@@ -395,6 +395,7 @@ async function uploadFiles(files) {
         const file = files[i];
         const formData = new FormData();
         formData.append('file', file);
+        formData.append('async', 'true');
         
         if (currentSessionId) {
             formData.append('sessionId', currentSessionId);
@@ -422,7 +423,12 @@ async function uploadFiles(files) {
             if (statusText) statusText.textContent = 'Extracting text and analyzing skills...';
 
             // Always parse the JSON response
-            const result = await response.json();
+            let result = await response.json();
+            
+            // 202: accepted for background processing, follow the tracking ID to the outcome
+            if (response.status === 202 && result.trackingId) {
+                result = await waitForProcessing(result.trackingId, progressBar, statusText);
+            }
             console.log('Upload result for', file.name, ':', result);
             
             // Check if result indicates an error
@@ -433,8 +439,8 @@ async function uploadFiles(files) {
                     displayDetailedError(result, progressItem, file.name);
                     GATracking.trackResumeUpload(file.name, file.size, false);
                     continue; // Move to next file
-                } else if (result.errorType === 'processing' && result.details) {
-                    // Processing error with details
+                } else if ((result.errorType === 'processing' || result.errorType === 'degraded') && result.details) {
+                    // Processing error, or AWS temporarily unavailable, with details
                     displayDetailedError(result, progressItem, file.name);
                     GATracking.trackResumeUpload(file.name, file.size, false);
                     continue; // Move to next file
@@ -646,6 +652,38 @@ function displayDetailedError(errorResult, progressItem, fileName) {
     }
 }
 
+// Poll /api/upload/status until the pipeline finishes. Resolves with a
+// result shaped like the synchronous /api/upload response.
+async function waitForProcessing(trackingId, progressBar, statusText) {
+    const labels = {
+        queued: 'Queued for processing...',
+        uploading: 'Uploading to storage...',
+        extracting: 'Extracting text...',
+        analyzing: 'Analyzing skills...',
+        finalizing: 'Finalizing...'
+    };
+    
+    while (true) {
+        await new Promise(resolve => setTimeout(resolve, 750));
+        
+        const response = await fetch(`/api/upload/status/${encodeURIComponent(trackingId)}`);
+        if (!response.ok) {
+            throw new Error(`Status check failed: ${response.status}`);
+        }
+        const status = await response.json();
+        
+        if (status.status === 'completed') {
+            return { ...status, success: true };
+        }
+        if (status.status === 'failed' || status.status === 'degraded') {
+            return { ...status, success: false };
+        }
+        
+        if (progressBar) progressBar.style.width = `${Math.max(status.progress || 0, 10)}%`;
+        if (statusText) statusText.textContent = labels[status.status] || 'Processing...';
+    }
+}
+
 // ========================================
 // MATCHING FUNCTIONS
 // ========================================
@@ -696,25 +734,36 @@ async function findMatches() {
     }, 2000);
 
     try {
-        // Use POST method as expected by your controller
-        const response = await fetch('/api/match', {
-            method: 'POST',
-            headers: {
-                'Content-Type': 'application/x-www-form-urlencoded',
-            },
-            body: `jobId=${encodeURIComponent(jobId)}`
-        });
-        
-        if (!response.ok) {
-            throw new Error(`HTTP error! status: ${response.status}`);
+        let matches;
+        if (window.EventSource) {
+            // Render heuristic scores immediately and refine them as AI scores arrive
+            matches = await streamMatchResults(jobId, (partial) => {
+                if (matchingLoader) matchingLoader.classList.add('hidden');
+                if (matchResults) matchResults.classList.remove('hidden');
+                displayMatches(partial, false);
+                const matchCount = document.getElementById('matchCount');
+                if (matchCount) matchCount.textContent = partial.length;
+            });
+        } else {
+            // Use POST method as expected by your controller
+            const response = await fetch('/api/match', {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/x-www-form-urlencoded',
+                },
+                body: `jobId=${encodeURIComponent(jobId)}`
+            });
+            
+            if (!response.ok) {
+                throw new Error(`HTTP error! status: ${response.status}`);
+            }
+            
+            const result = await response.json();
+            console.log('Match result:', result);
+            
+            // Extract matches from result
+            matches = result.matches || [];
         }
-        
-        const result = await response.json();
-        console.log('Match result:', result);
-		
-        
-        // Extract matches from result
-        const matches = result.matches || [];
 		// Track successful match
 		GATracking.trackJobMatch(jobId, currentCandidates.length, matches.length);
 		
@@ -752,7 +801,71 @@ async function findMatches() {
     }
 }
 
-function displayMatches(matches) {
+// Consume /api/match/stream: "match" frames carry heuristic scores, "update"
+// frames replace them with AI scores, "justification" frames stream the AI
+// justification text ahead of its update, "statistics" closes the stream.
+// Resolves with the final ranking.
+function streamMatchResults(jobId, onProgress) {
+    return new Promise((resolve, reject) => {
+        const source = new EventSource(`/api/match/stream?jobId=${encodeURIComponent(jobId)}`);
+        const byCandidate = new Map();
+        const streaming = new Set();
+        let renderPending = false;
+        
+        const ranking = () => Array.from(byCandidate.values())
+            .filter(match => (match.score || 0) > 0)
+            .sort((a, b) => b.score - a.score);
+        
+        const scheduleRender = () => {
+            if (renderPending) return;
+            renderPending = true;
+            requestAnimationFrame(() => {
+                renderPending = false;
+                onProgress(ranking());
+            });
+        };
+        
+        const onResult = (event) => {
+            const match = JSON.parse(event.data);
+            byCandidate.set(match.candidateId, match);
+            streaming.delete(match.candidateId);
+            scheduleRender();
+        };
+        
+        const onJustification = (event) => {
+            const piece = JSON.parse(event.data);
+            const match = byCandidate.get(piece.candidateId);
+            if (!match) return;
+            // The first piece replaces the heuristic justification
+            match.justification = streaming.has(piece.candidateId) ? match.justification + piece.text : piece.text;
+            streaming.add(piece.candidateId);
+            scheduleRender();
+        };
+        
+        source.addEventListener('match', onResult);
+        source.addEventListener('update', onResult);
+        source.addEventListener('justification', onJustification);
+        source.addEventListener('statistics', (event) => {
+            source.close();
+            console.log('Match statistics:', JSON.parse(event.data));
+            resolve(ranking());
+        });
+        source.addEventListener('error', (event) => {
+            source.close();
+            let message = 'Match stream interrupted';
+            if (event.data) {
+                try {
+                    message = JSON.parse(event.data).error || message;
+                } catch (e) {
+                    // keep the generic message
+                }
+            }
+            reject(new Error(message));
+        });
+    });
+}
+
+function displayMatches(matches, animate = true) {
     const matchList = document.getElementById('matchList');
     if (!matchList) return;
     
@@ -779,8 +892,8 @@ function displayMatches(matches) {
                         'fa-user text-gray-400';
         
         return `
-            <div class="border-l-4 ${bgColor} p-6 mb-4 rounded-r-lg hover:shadow-md transition-shadow fade-in"
-                 style="animation-delay: ${index * 0.1}s">
+            <div class="border-l-4 ${bgColor} p-6 mb-4 rounded-r-lg hover:shadow-md transition-shadow ${animate ? 'fade-in' : ''}"
+                 style="animation-delay: ${animate ? index * 0.1 : 0}s">
                 <div class="flex justify-between items-center">
                     <div class="flex items-center flex-1">
                         <div class="w-12 h-12 bg-white rounded-full flex items-center justify-center mr-4 shadow">
@@ -0,0 +1,193 @@
+// src/test/java/com/hackathon/hr/service/BedrockRateLimiterTest.java
+package com.hackathon.hr.service;
+
+import com.hackathon.hr.exception.BedrockThrottledException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BedrockRateLimiterTest {
+
+    private BedrockRateLimiter limiter;
+    private DownstreamLimiter downstreamLimiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = newLimiter(8);
+        downstreamLimiter = new DownstreamLimiter();
+        ReflectionTestUtils.setField(downstreamLimiter, "bedrockLimit", 1);
+        ReflectionTestUtils.setField(downstreamLimiter, "acquireTimeoutMs", 100L);
+        downstreamLimiter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void retriesThrottledCallAndHalvesConcurrencyLimit() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = limiter.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw throttle();
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+        assertThat(limiter.getStatistics())
+                .containsEntry("throttled", 1L)
+                .containsEntry("retries", 1L)
+                .containsEntry("limitDecreases", 1L)
+                .containsEntry("concurrencyLimit", 4)
+                .containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            calls.incrementAndGet();
+            throw throttle();
+        })).isInstanceOf(BedrockThrottledException.class);
+
+        assertThat(calls).hasValue(3);
+        assertThat(limiter.getStatistics()).containsEntry("exhausted", 1L);
+    }
+
+    @Test
+    void passesOtherErrorsThroughWithoutRetrying() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("bad request");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(calls).hasValue(1);
+        assertThat(limiter.getStatistics()).containsEntry("retries", 0L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void asyncRetriesThrottledCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = limiter.executeAsync(() -> calls.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(throttle())
+                : CompletableFuture.completedFuture("ok"), this::bedrockPermit);
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+        assertThat(limiter.getStatistics()).containsEntry("retries", 1L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void asyncWaitsForPermitUntilAcquireTimeout() {
+        DownstreamLimiter.Permit held = bedrockPermit();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = limiter.executeAsync(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        }, this::bedrockPermit);
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(calls).hasValue(0);
+        held.close();
+    }
+
+    @Test
+    void asyncReleasesPermitWhenCallEnds() throws Exception {
+        limiter.executeAsync(() -> CompletableFuture.completedFuture("ok"), this::bedrockPermit)
+                .get(5, TimeUnit.SECONDS);
+
+        DownstreamLimiter.Permit permit = bedrockPermit();
+        assertThat(permit).isNotNull();
+        permit.close();
+    }
+
+    @Test
+    void cancellingAsyncResultCancelsCall() throws Exception {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> result = limiter.executeAsync(() -> call, this::bedrockPermit);
+        waitUntilInFlight(1);
+
+        result.cancel(true);
+
+        assertThat(call).isCancelled();
+        assertThat(limiter.getStatistics()).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void tryExecuteAsyncRefusesWhenNoSlotIsFree() {
+        limiter.shutdown();
+        limiter = newLimiter(1);
+        CompletableFuture<String> first = limiter.tryExecuteAsync(CompletableFuture::new);
+
+        assertThat(first).isNotNull();
+        assertThat(limiter.<String>tryExecuteAsync(() -> CompletableFuture.completedFuture("hedge"))).isNull();
+
+        first.complete("done");
+        assertThat(limiter.getStatistics()).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void recognisesThrottleAnywhereInCauseChain() {
+        assertThat(BedrockRateLimiter.isThrottle(new CompletionException(new RuntimeException(throttle())))).isTrue();
+        assertThat(BedrockRateLimiter.isThrottle(new RuntimeException("timeout"))).isFalse();
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    private static BedrockRateLimiter newLimiter(int concurrency) {
+        BedrockRateLimiter limiter = new BedrockRateLimiter(new TaskExecutorFactory());
+        ReflectionTestUtils.setField(limiter, "requestsPerMinute", 60_000.0);
+        ReflectionTestUtils.setField(limiter, "burst", 100);
+        ReflectionTestUtils.setField(limiter, "acquireTimeoutMs", 200L);
+        ReflectionTestUtils.setField(limiter, "initialConcurrency", concurrency);
+        ReflectionTestUtils.setField(limiter, "minConcurrency", 1);
+        ReflectionTestUtils.setField(limiter, "maxConcurrency", concurrency);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(limiter, "maxAttempts", 3);
+        ReflectionTestUtils.setField(limiter, "baseDelayMs", 1L);
+        ReflectionTestUtils.setField(limiter, "maxDelayMs", 5L);
+        limiter.init();
+        return limiter;
+    }
+
+    private DownstreamLimiter.Permit bedrockPermit() {
+        return downstreamLimiter.tryAcquire(DownstreamLimiter.Downstream.BEDROCK);
+    }
+
+    private void waitUntilInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Integer.valueOf(expected).equals(limiter.getStatistics().get("inFlight"))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static SdkServiceException throttle() {
+        return SdkServiceException.builder().statusCode(429).message("Too many requests").build();
+    }
+}
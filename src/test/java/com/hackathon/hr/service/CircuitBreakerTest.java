@@ -0,0 +1,115 @@
+// src/test/java/com/hackathon/hr/service/CircuitBreakerTest.java
+package com.hackathon.hr.service;
+
+import com.hackathon.hr.exception.ServiceDegradedException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private static final RuntimeException OUTAGE = new IllegalStateException("connection refused");
+    private static final RuntimeException BAD_INPUT = new IllegalArgumentException("bad input");
+
+    @Test
+    void opensAfterConsecutiveOutages() {
+        CircuitBreaker breaker = newBreaker(60_000);
+
+        fail(breaker, OUTAGE);
+        fail(breaker, OUTAGE);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        fail(breaker, OUTAGE);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(ServiceDegradedException.class);
+        assertThat(breaker.getStatistics())
+                .containsEntry("trips", 1L)
+                .containsEntry("rejectedCalls", 1L)
+                .containsKey("retryInMs");
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        CircuitBreaker breaker = newBreaker(60_000);
+
+        fail(breaker, OUTAGE);
+        fail(breaker, OUTAGE);
+        breaker.acquirePermission();
+        breaker.onSuccess();
+        fail(breaker, OUTAGE);
+        fail(breaker, OUTAGE);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void ignoresErrorsThatAreNotOutages() {
+        CircuitBreaker breaker = newBreaker(60_000);
+
+        fail(breaker, OUTAGE);
+        fail(breaker, OUTAGE);
+        fail(breaker, BAD_INPUT);
+        fail(breaker, BAD_INPUT);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getStatistics()).containsEntry("consecutiveFailures", 2);
+    }
+
+    @Test
+    void halfOpenAllowsLimitedTrialsAndClosesOnSuccess() {
+        CircuitBreaker breaker = tripped(newBreaker(0));
+
+        breaker.acquirePermission();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(ServiceDegradedException.class);
+
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    void halfOpenReopensOnOutage() {
+        CircuitBreaker breaker = tripped(newBreaker(0));
+
+        fail(breaker, OUTAGE);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getStatistics()).containsEntry("trips", 2L);
+    }
+
+    @Test
+    void halfOpenTrialEndingInOtherErrorFreesItsSlot() {
+        CircuitBreaker breaker = tripped(newBreaker(0));
+
+        fail(breaker, BAD_INPUT);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.isCallPermitted()).isTrue();
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    private static CircuitBreaker newBreaker(long openMillis) {
+        return new CircuitBreaker("Test", 3, openMillis, 1, error -> error instanceof IllegalStateException);
+    }
+
+    private static CircuitBreaker tripped(CircuitBreaker breaker) {
+        for (int i = 0; i < 3; i++) {
+            fail(breaker, OUTAGE);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private static void fail(CircuitBreaker breaker, RuntimeException error) {
+        breaker.acquirePermission();
+        breaker.onError(error);
+    }
+}
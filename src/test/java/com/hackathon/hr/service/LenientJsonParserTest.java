@@ -0,0 +1,77 @@
+// src/test/java/com/hackathon/hr/service/LenientJsonParserTest.java
+package com.hackathon.hr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LenientJsonParserTest {
+
+    private final LenientJsonParser parser = new LenientJsonParser();
+
+    @Test
+    void parsesObjectWrappedInProseAndFences() throws IOException {
+        LenientJsonParser.Result result = parser.parseObject(
+                "Here is the analysis:\n```json\n{\"score\": 85, \"skills\": [\"Java\", \"AWS\"]}\n```\nHope this helps.");
+
+        assertThat(result.isRepaired()).isFalse();
+        assertThat(result.getNode().get("score").asInt()).isEqualTo(85);
+        assertThat(result.getNode().get("skills")).hasSize(2);
+    }
+
+    @Test
+    void acceptsSingleQuotesTrailingCommasAndUnquotedNames() throws IOException {
+        JsonNode node = parser.parseObject("{name: 'Ada', 'skills': ['Java', 'Go',],}").getNode();
+
+        assertThat(node.get("name").asText()).isEqualTo("Ada");
+        assertThat(node.get("skills")).hasSize(2);
+    }
+
+    @Test
+    void closesObjectTruncatedBetweenFields() throws IOException {
+        LenientJsonParser.Result result = parser.parseObject("{\"score\": 72, \"skills\": [\"Java\", \"SQL\"],");
+
+        assertThat(result.isRepaired()).isTrue();
+        assertThat(result.getNode().get("score").asInt()).isEqualTo(72);
+        assertThat(result.getNode().get("skills")).hasSize(2);
+    }
+
+    @Test
+    void dropsFieldTruncatedInsideString() throws IOException {
+        LenientJsonParser.Result result = parser.parseObject(
+                "{\"score\": 60, \"level\": \"Senior\", \"justification\": \"Strong back-end experience with");
+
+        assertThat(result.isRepaired()).isTrue();
+        assertThat(result.getNode().get("level").asText()).isEqualTo("Senior");
+        assertThat(result.getNode().has("justification")).isFalse();
+    }
+
+    @Test
+    void keepsCompleteElementsOfTruncatedNestedArray() throws IOException {
+        JsonNode node = parser.parseObject(
+                "{\"score\": 90, \"experience\": [{\"company\": \"Acme\"}, {\"company\": \"Glo").getNode();
+
+        assertThat(node.get("score").asInt()).isEqualTo(90);
+        assertThat(node.get("experience")).hasSize(1);
+        assertThat(node.get("experience").get(0).get("company").asText()).isEqualTo("Acme");
+    }
+
+    @Test
+    void ignoresBracesInsideStrings() throws IOException {
+        JsonNode node = parser.parseObject("{\"note\": \"uses {braces}, and commas\", \"score\": 5} trailing }").getNode();
+
+        assertThat(node.get("note").asText()).isEqualTo("uses {braces}, and commas");
+        assertThat(node.get("score").asInt()).isEqualTo(5);
+    }
+
+    @Test
+    void failsWithoutAnObject() {
+        assertThatThrownBy(() -> parser.parseObject("I could not analyse this resume."))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> parser.parseObject(null)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,141 @@
+// src/test/java/com/hackathon/hr/service/ResumeTextCompactorTest.java
+package com.hackathon.hr.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeTextCompactorTest {
+
+    private final ResumeTextCompactor compactor = new ResumeTextCompactor(true, 0);
+
+    @Test
+    void removesContactDetailsPageMarkersAndBoilerplate() {
+        String compacted = compactor.compact(String.join("\n",
+                "Curriculum Vitae",
+                "Jane Doe",
+                "jane.doe@example.com | +44 20 7946 0958 | https://linkedin.com/in/janedoe",
+                "Page 1 of 2",
+                "Skills",
+                "•   Java,   Spring Boot",
+                "2019",
+                "References available upon request"));
+
+        assertThat(compacted).isEqualTo(String.join("\n",
+                "Jane Doe",
+                "Skills",
+                "- Java, Spring Boot",
+                "2019"));
+    }
+
+    @Test
+    void dropsRunningHeaderRepeatedOnEveryPage() {
+        String compacted = compactor.compact(String.join("\n",
+                "Jane Doe - Senior Engineer",
+                "Experience",
+                "Acme Corp",
+                "Page 1 of 2",
+                "Jane Doe - Senior Engineer",
+                "Globex",
+                "Page 2 of 2"));
+
+        assertThat(compacted).isEqualTo(String.join("\n",
+                "Jane Doe - Senior Engineer",
+                "Experience",
+                "Acme Corp",
+                "Globex"));
+    }
+
+    @Test
+    void keepsRepeatedContentLines() {
+        String compacted = compactor.compact(String.join("\n",
+                "Experience",
+                "Software Engineer",
+                "Acme Corp",
+                "- Built REST APIs",
+                "Software Engineer",
+                "Globex",
+                "- Built REST APIs"));
+
+        assertThat(compacted.split("\n")).containsExactly(
+                "Experience",
+                "Software Engineer",
+                "Acme Corp",
+                "- Built REST APIs",
+                "Software Engineer",
+                "Globex",
+                "- Built REST APIs");
+    }
+
+    @Test
+    void keepsLinesRepeatedLessOftenThanThereArePages() {
+        String compacted = compactor.compact(String.join("\n",
+                "Software Engineer",
+                "Page 1 of 3",
+                "Software Engineer",
+                "Page 2 of 3",
+                "Education",
+                "Page 3 of 3"));
+
+        assertThat(compacted.split("\n")).containsExactly("Software Engineer", "Software Engineer", "Education");
+    }
+
+    @Test
+    void fitsBudgetBySectionPriorityAndKeepsDocumentOrder() {
+        ResumeTextCompactor small = new ResumeTextCompactor(true, 31);
+        String compacted = small.compact(String.join("\n",
+                "Jane Doe",
+                "Summary",
+                "Engineer who enjoys building reliable distributed systems at scale",
+                "Skills",
+                "Java, Kotlin, AWS, Kafka",
+                "Experience",
+                "Acme Corp 2019-2024 led the payments platform team",
+                "Interests",
+                "Chess"));
+
+        assertThat(compacted.split("\n")).containsExactly(
+                "Jane Doe",
+                "Skills",
+                "Java, Kotlin, AWS, Kafka",
+                "Experience",
+                "Acme Corp 2019-2024 led the payments platform team");
+        assertThat(small.getStatistics()).containsEntry("overBudget", 1L);
+    }
+
+    @Test
+    void dropsEverythingBelowFirstSectionThatDoesNotFit() {
+        // Room for Skills and the first role, with enough left over for the Languages block on its own
+        ResumeTextCompactor small = new ResumeTextCompactor(true, 38);
+        String compacted = small.compact(String.join("\n",
+                "Skills",
+                "Java, Kotlin, AWS, Kafka",
+                "Experience",
+                "Acme Corp 2019-2024 led the payments platform team",
+                "Globex 2015-2019 built the trading gateway in Java",
+                "Languages",
+                "French"));
+
+        assertThat(compacted).contains("Acme Corp").doesNotContain("Globex").doesNotContain("French");
+    }
+
+    @Test
+    void alwaysDropsReferencesWhenOverBudget() {
+        ResumeTextCompactor small = new ResumeTextCompactor(true, 12);
+        String compacted = small.compact(String.join("\n",
+                "Skills",
+                "Java",
+                "References",
+                "John Smith, Acme Corp, former manager"));
+
+        assertThat(compacted).isEqualTo("Skills\nJava");
+    }
+
+    @Test
+    void returnsTextUnchangedWhenDisabled() {
+        ResumeTextCompactor disabled = new ResumeTextCompactor(false, 10);
+        String text = "Resume\njane@example.com\nPage 1 of 1";
+
+        assertThat(disabled.compact(text)).isEqualTo(text);
+    }
+}
@@ -0,0 +1,72 @@
+// src/test/java/com/hackathon/hr/service/SkillDictionaryTest.java
+package com.hackathon.hr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillDictionaryTest {
+
+    private final SkillDictionary dictionary = new SkillDictionary();
+
+    @Test
+    void internsNormalizedNamesToStableIds() {
+        int java = dictionary.intern("Java");
+
+        assertThat(dictionary.intern("  java ")).isEqualTo(java);
+        assertThat(dictionary.intern("Python")).isNotEqualTo(java);
+        assertThat(dictionary.lookup("JAVA")).isEqualTo(java);
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    void blankAndUnknownSkillsHaveNoId() {
+        assertThat(dictionary.intern("   ")).isEqualTo(-1);
+        assertThat(dictionary.intern(null)).isEqualTo(-1);
+        assertThat(dictionary.lookup("Rust")).isEqualTo(-1);
+        assertThat(dictionary.size()).isZero();
+    }
+
+    @Test
+    void encodesSkillsAsBits() {
+        long[] vector = dictionary.encode(Arrays.asList("Java", "AWS", "", "java"));
+
+        assertThat(SkillDictionary.contains(vector, dictionary.lookup("Java"))).isTrue();
+        assertThat(SkillDictionary.contains(vector, dictionary.lookup("AWS"))).isTrue();
+        assertThat(SkillDictionary.contains(vector, dictionary.intern("Go"))).isFalse();
+        assertThat(SkillDictionary.contains(vector, -1)).isFalse();
+        assertThat(dictionary.encode(Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    void countsCommonSkillsAcrossWordBoundaries() {
+        // More than 64 skills so the vectors span several longs
+        List<String> many = IntStream.range(0, 150).mapToObj(i -> "skill-" + i).collect(Collectors.toList());
+        dictionary.encode(many);
+
+        long[] candidate = dictionary.encode(Arrays.asList("skill-1", "skill-70", "skill-140", "skill-3"));
+        long[] job = dictionary.encode(Arrays.asList("skill-1", "skill-70", "skill-141"));
+
+        assertThat(SkillDictionary.countCommon(candidate, job)).isEqualTo(2);
+        assertThat(SkillDictionary.countCommon(job, candidate)).isEqualTo(2);
+    }
+
+    @Test
+    void comparesVectorsOfDifferentLengths() {
+        long[] shortVector = dictionary.encode(Collections.singletonList("Java"));
+        for (int i = 0; i < 100; i++) {
+            dictionary.intern("later-" + i);
+        }
+        long[] longVector = dictionary.encode(Arrays.asList("Java", "later-99"));
+
+        assertThat(shortVector.length).isLessThan(longVector.length);
+        assertThat(SkillDictionary.countCommon(shortVector, longVector)).isEqualTo(1);
+        assertThat(SkillDictionary.countCommon(null, longVector)).isZero();
+    }
+}
@@ -0,0 +1,101 @@
+// src/test/java/com/hackathon/hr/service/StreamingJsonObjectTest.java
+package com.hackathon.hr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingJsonObjectTest {
+
+    @Test
+    void completesOnceRequiredFieldsArrive() {
+        StreamingJsonObject object = new StreamingJsonObject("score", "level");
+
+        object.append("Sure! {\"score\": 8");
+        assertThat(object.isComplete()).isFalse();
+        assertThat(object.getJson()).isNull();
+
+        object.append("0, \"level\": \"Senior\", \"justification\": \"Lo");
+
+        assertThat(object.isComplete()).isTrue();
+        assertThat(object.getCompletedFields()).containsExactly("score", "level");
+        assertThat(object.getJson()).isEqualTo("{\"score\": 80, \"level\": \"Senior\"}");
+    }
+
+    @Test
+    void withoutRequiredFieldsOnlyClosingBraceCompletes() {
+        StreamingJsonObject object = new StreamingJsonObject();
+
+        object.append("{\"a\": 1, \"b\": [1, 2]");
+        assertThat(object.isComplete()).isFalse();
+        object.append("}");
+
+        assertThat(object.isComplete()).isTrue();
+        assertThat(object.getJson()).isEqualTo("{\"a\": 1, \"b\": [1, 2]}");
+    }
+
+    @Test
+    void streamsWatchedFieldInPieces() {
+        List<String> pieces = new ArrayList<>();
+        StreamingJsonObject object = new StreamingJsonObject().watch("justification", pieces::add);
+        String response = "{\"score\": 70, \"justification\": \"Strong Java skills and five years of AWS.\", \"x\": 1}";
+
+        feedInChunks(object, response, 4);
+
+        assertThat(pieces.size()).isGreaterThan(1);
+        assertThat(String.join("", pieces)).isEqualTo("Strong Java skills and five years of AWS.");
+    }
+
+    @Test
+    void decodesEscapesSplitAcrossChunks() {
+        StringBuilder text = new StringBuilder();
+        StreamingJsonObject object = new StreamingJsonObject().watch("why", text::append);
+        String response = "{\"why\": \"Led \\\"Atlas\\\"\\nmigration at Caf\\u00e9 Ltd\\\\Paris\"}";
+
+        feedInChunks(object, response, 1);
+
+        assertThat(text.toString()).isEqualTo("Led \"Atlas\"\nmigration at Café Ltd\\Paris");
+        assertThat(object.isComplete()).isTrue();
+    }
+
+    @Test
+    void watchedFieldArrivingInOneChunkIsEmittedOnce() {
+        List<String> pieces = new ArrayList<>();
+        StreamingJsonObject object = new StreamingJsonObject().watch("why", pieces::add);
+
+        object.append("{\"why\": \"All at once\"}");
+
+        assertThat(pieces).containsExactly("All at once");
+    }
+
+    @Test
+    void ignoresWatchedFieldThatIsNotAString() {
+        List<String> pieces = new ArrayList<>();
+        StreamingJsonObject object = new StreamingJsonObject("why").watch("why", pieces::add);
+
+        feedInChunks(object, "{\"why\": [\"a\", \"b\"]}", 3);
+
+        assertThat(pieces).isEmpty();
+        assertThat(object.isComplete()).isTrue();
+    }
+
+    @Test
+    void marksMalformedTextAsFailed() {
+        StreamingJsonObject object = new StreamingJsonObject("score");
+
+        object.append("{\"score\": 5, oops");
+
+        assertThat(object.isFailed()).isTrue();
+        assertThat(object.isComplete()).isFalse();
+        assertThat(object.getJson()).isEqualTo("{\"score\": 5}");
+    }
+
+    private static void feedInChunks(StreamingJsonObject object, String text, int size) {
+        for (int i = 0; i < text.length(); i += size) {
+            object.append(text.substring(i, Math.min(text.length(), i + size)));
+        }
+    }
+}
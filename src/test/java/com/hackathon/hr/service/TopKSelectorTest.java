@@ -0,0 +1,69 @@
+// src/test/java/com/hackathon/hr/service/TopKSelectorTest.java
+package com.hackathon.hr.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKSelectorTest {
+
+    @Test
+    void keepsBestItemsBestFirst() {
+        TopKSelector<Integer> selector = new TopKSelector<>(3, Comparator.reverseOrder());
+        for (int score : new int[] {40, 95, 10, 70, 88, 55}) {
+            selector.offer(score);
+        }
+
+        assertThat(selector.result()).containsExactly(95, 88, 70);
+    }
+
+    @Test
+    void returnsEverythingWhenFewerThanK() {
+        TopKSelector<Integer> selector = new TopKSelector<>(10, Comparator.reverseOrder());
+        selector.offer(3);
+        selector.offer(7);
+
+        assertThat(selector.result()).containsExactly(7, 3);
+    }
+
+    @Test
+    void keepsNothingForNonPositiveK() {
+        TopKSelector<Integer> selector = new TopKSelector<>(0, Comparator.reverseOrder());
+        selector.offer(1);
+
+        assertThat(selector.result()).isEmpty();
+    }
+
+    @Test
+    void matchesFullSortOnRandomInput() {
+        Random random = new Random(42);
+        List<Integer> scores = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            scores.add(random.nextInt(1_000));
+        }
+        TopKSelector<Integer> selector = new TopKSelector<>(25, Comparator.reverseOrder());
+        scores.forEach(selector::offer);
+
+        List<Integer> expected = scores.stream()
+                .sorted(Collections.reverseOrder())
+                .limit(25)
+                .collect(Collectors.toList());
+        assertThat(selector.result()).isEqualTo(expected);
+    }
+
+    @Test
+    void keepsEarlierItemOnTies() {
+        TopKSelector<String[]> selector = new TopKSelector<>(1, Comparator.comparing(item -> item[0]));
+        selector.offer(new String[] {"a", "first"});
+        selector.offer(new String[] {"a", "second"});
+
+        assertThat(selector.result().get(0)[1]).isEqualTo("first");
+    }
+}